@@ -0,0 +1,123 @@
+package hello.itemservice.domain.item;
+
+import hello.itemservice.domain.item.persistence.ItemPersistence;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크용 상품 저장소 (저장 엔진 x 카탈로그 크기)
+ * 매 측정 반복(iteration)마다 size 개의 상품으로 다시 채운다. (save 가 저장소를 계속 키우지 않도록)
+ *
+ * backend
+ *  - memory   : MemoryItemStore
+ *  - columnar : ColumnarItemStore
+ *  - wal      : MemoryItemStore + 변경 기록 (fsync 없이, 기록 비용만)
+ *  - snapshot : 메모리 매핑한 스냅샷 + 변경분 저장 엔진 + 변경 기록 (재시작 직후 상태)
+ */
+@State(Scope.Benchmark)
+public class ItemCatalog {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    @Param({"memory", "columnar", "wal", "snapshot"})
+    String backend;
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    int size;
+
+    // 보조 인덱스는 상품마다 객체를 만들어 큰 카탈로그에서 힙을 많이 쓰므로 기본은 끈다. (-p indexed=true)
+    @Param({"false"})
+    boolean indexed;
+
+    ItemRepository repository;
+    private ItemPersistence persistence;
+    private Path directory;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        switch (backend) {
+            case "memory":
+                repository = new ItemRepository(new MemoryItemStore(), indexed);
+                load(repository);
+                break;
+            case "columnar":
+                repository = new ItemRepository(new ColumnarItemStore(), indexed);
+                load(repository);
+                break;
+            case "wal":
+                directory = Files.createTempDirectory("item-bench");
+                persistence = open(directory);
+                repository = new ItemRepository(persistence.store(), indexed, persistence.journal());
+                load(repository);
+                break;
+            case "snapshot":
+                directory = Files.createTempDirectory("item-bench");
+                ItemPersistence writer = open(directory);
+                load(new ItemRepository(writer.store(), false, writer.journal()));
+                writer.snapshot();
+                writer.close();
+                persistence = open(directory);
+                repository = new ItemRepository(persistence.store(), indexed, persistence.journal());
+                break;
+            default:
+                throw new IllegalArgumentException("backend=" + backend);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        repository = null;
+        if (persistence != null) {
+            persistence.close();
+            persistence = null;
+        }
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+            directory = null;
+        }
+    }
+
+    /**
+     * 이미 있는 상품 중 하나의 id
+     */
+    long randomId() {
+        return ThreadLocalRandom.current().nextLong(size) + 1;
+    }
+
+    static Item randomItem() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Item("item" + random.nextInt(1_000_000), 1000 + random.nextInt(999_001), random.nextInt(10_000));
+    }
+
+    private void load(ItemRepository target) {
+        List<Item> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        for (int i = 0; i < size; i++) {
+            batch.add(randomItem());
+            if (batch.size() == LOAD_BATCH_SIZE || i == size - 1) {
+                target.saveAll(batch);
+                batch = new ArrayList<>(LOAD_BATCH_SIZE);
+            }
+        }
+    }
+
+    private static ItemPersistence open(Path directory) throws IOException {
+        // 측정 중에 스냅샷이 돌지 않도록 주기를 길게 둔다.
+        return new ItemPersistence(new MemoryItemStore(), directory, false, Duration.ofDays(1));
+    }
+}
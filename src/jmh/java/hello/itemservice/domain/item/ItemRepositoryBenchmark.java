@@ -0,0 +1,55 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemRepository 연산별 측정 (처리량 + 지연 시간 분포)
+ * SampleTime 결과의 p0.99 가 p99 지연 시간이다. 스레드 수는 ItemRepositoryBenchmarkRunner 가 1, 4, 16, 64 로 바꿔 가며 실행한다.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ItemRepositoryBenchmark {
+
+    @Benchmark
+    public Item save(ItemCatalog catalog) {
+        return catalog.repository.save(ItemCatalog.randomItem());
+    }
+
+    @Benchmark
+    public Item findById(ItemCatalog catalog) {
+        return catalog.repository.findById(catalog.randomId());
+    }
+
+    @Benchmark
+    public void update(ItemCatalog catalog) {
+        catalog.repository.update(catalog.randomId(), ItemCatalog.randomItem());
+    }
+
+    /**
+     * 전체 복사 (카탈로그 크기에 비례)
+     */
+    @Benchmark
+    public List<Item> findAll(ItemCatalog catalog) {
+        return catalog.repository.findAll();
+    }
+
+    /**
+     * 목록 화면에서 실제로 쓰는 페이지 조회 (findAll 과 비교용)
+     */
+    @Benchmark
+    public ItemPage findPage(ItemCatalog catalog) {
+        return catalog.repository.findPage(new ItemPageRequest());
+    }
+}
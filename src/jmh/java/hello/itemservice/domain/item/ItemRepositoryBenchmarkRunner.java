@@ -0,0 +1,38 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * ItemRepository 벤치마크를 1, 4, 16, 64 스레드로 차례로 실행한다. (./gradlew jmhItemRepository)
+ * 나머지 옵션은 JMH 명령행 형식으로 넘긴다. 예) -Pjmh.args="-p backend=memory -p size=1000,100000"
+ * 결과는 스레드 수마다 build/reports/jmh/item-repository-t{스레드 수}.json 에 남는다.
+ */
+public class ItemRepositoryBenchmarkRunner {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        new File("build/reports/jmh").mkdirs();
+
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .include(ItemRepositoryBenchmark.class.getSimpleName())
+                    .include(ItemRepositoryMixedBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("build/reports/jmh/item-repository-t" + threads + ".json")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 읽기/쓰기를 섞은 측정
+ * 연산마다 writePercent 확률로 update, 나머지는 findById 를 실행한다. (모든 스레드가 같은 비율)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class ItemRepositoryMixedBenchmark {
+
+    @Param({"0", "5", "20", "50"})
+    int writePercent;
+
+    @Benchmark
+    public Object mixed(ItemCatalog catalog) {
+        if (ThreadLocalRandom.current().nextInt(100) < writePercent) {
+            catalog.repository.update(catalog.randomId(), ItemCatalog.randomItem());
+            return null;
+        }
+        return catalog.repository.findById(catalog.randomId());
+    }
+}
@@ -0,0 +1,93 @@
+package hello.itemservice.web.message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검증 오류 메시지 측정
+ * - 메시지 코드 생성 : DefaultMessageCodesResolver / CachingMessageCodesResolver
+ * - 메시지 찾기 : 스프링 부트 기본(ResourceBundleMessageSource) / MessageConfig 구성(CachingMessageSource + CompiledMessageSource)
+ *
+ * found : 번들에 있는 코드 (range.item.price, 인자 포함)
+ * missing : 번들에 없는 코드 (모든 코드를 확인한 뒤 기본 메시지 사용)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MessageBenchmark {
+
+    @Param({"found", "missing"})
+    String input;
+
+    MessageCodesResolver defaultCodesResolver = new DefaultMessageCodesResolver();
+    MessageCodesResolver cachingCodesResolver = new CachingMessageCodesResolver(10000);
+    MessageSource defaultMessageSource;
+    MessageSource cachingMessageSource;
+
+    String errorCode;
+    FieldError error;
+    Locale locale = Locale.KOREA;
+
+    @Setup
+    public void setup() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        defaultMessageSource = messageSource;
+        cachingMessageSource = new CachingMessageSource(new CompiledMessageSource(List.of("messages", "errors"),
+                StandardCharsets.UTF_8, true, false, false), 10000);
+
+        errorCode = "found".equals(input) ? "range" : "unknown";
+        error = new FieldError("item", "price", 1, false,
+                defaultCodesResolver.resolveMessageCodes(errorCode, "item", "price", Integer.class),
+                new Object[]{1000, 1000000}, "가격 오류");
+    }
+
+    @Benchmark
+    public String[] codesDefault() {
+        return defaultCodesResolver.resolveMessageCodes(errorCode, "item", "price", Integer.class);
+    }
+
+    @Benchmark
+    public String[] codesCaching() {
+        return cachingCodesResolver.resolveMessageCodes(errorCode, "item", "price", Integer.class);
+    }
+
+    @Benchmark
+    public String messageDefault() {
+        return defaultMessageSource.getMessage(error, locale);
+    }
+
+    @Benchmark
+    public String messageCaching() {
+        return cachingMessageSource.getMessage(error, locale);
+    }
+
+    /**
+     * 필드 이름 인자(DefaultMessageSourceResolvable)까지 메시지로 바꾸는 경우 (Bean Validation 오류)
+     */
+    @Benchmark
+    public String messageWithFieldArgument() {
+        FieldError fieldError = new FieldError("item", "price", 1, false, error.getCodes(),
+                new Object[]{new DefaultMessageSourceResolvable(new String[]{"item.price", "price"}, "price"), 1000000, 1000},
+                "가격 오류");
+        return cachingMessageSource.getMessage(fieldError, locale);
+    }
+}
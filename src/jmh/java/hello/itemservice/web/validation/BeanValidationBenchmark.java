@@ -0,0 +1,139 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.compiled.CompiledValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.hibernate.validator.constraints.Range;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation 측정
+ * - 폼 객체(ItemSaveForm, ItemUpdateForm) : 기본 그룹
+ * - GroupedItem : SaveCheck / UpdateCheck 그룹 (폼 분리 전 V3 방식)
+ * - bindingResult* : 컨트롤러 흐름처럼 BindingResult 에 오류를 담는 비용까지 (SpringValidatorAdapter / CompiledValidator)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class BeanValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    String input;
+
+    ValidatorFactory factory;
+    Validator validator;
+    SpringValidatorAdapter springValidator;
+    CompiledValidator compiledValidator;
+
+    ItemSaveForm saveForm;
+    ItemUpdateForm updateForm;
+    GroupedItem groupedItem;
+
+    @Setup
+    public void setup() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        springValidator = new SpringValidatorAdapter(validator);
+        compiledValidator = new CompiledValidator(springValidator);
+
+        boolean valid = "valid".equals(input);
+        saveForm = new ItemSaveForm();
+        saveForm.setItemName(valid ? "itemA" : " ");
+        saveForm.setPrice(valid ? 10000 : 1);
+        saveForm.setQuantity(valid ? 10 : 99999);
+
+        updateForm = new ItemUpdateForm();
+        updateForm.setId(valid ? 1L : null);
+        updateForm.setItemName(saveForm.getItemName());
+        updateForm.setPrice(saveForm.getPrice());
+        updateForm.setQuantity(saveForm.getQuantity());
+
+        groupedItem = new GroupedItem();
+        groupedItem.id = updateForm.getId();
+        groupedItem.itemName = saveForm.getItemName();
+        groupedItem.price = saveForm.getPrice();
+        groupedItem.quantity = saveForm.getQuantity();
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ItemSaveForm>> saveForm() {
+        return validator.validate(saveForm);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ItemUpdateForm>> updateForm() {
+        return validator.validate(updateForm);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<GroupedItem>> saveCheckGroup() {
+        return validator.validate(groupedItem, SaveCheck.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<GroupedItem>> updateCheckGroup() {
+        return validator.validate(groupedItem, UpdateCheck.class);
+    }
+
+    @Benchmark
+    public BindingResult bindingResultSpringValidator() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(saveForm, "item");
+        springValidator.validate(saveForm, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult bindingResultCompiledValidator() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(saveForm, "item");
+        compiledValidator.validate(saveForm, bindingResult);
+        return bindingResult;
+    }
+
+    /**
+     * Item 에 주석으로 남아 있는 groups 설정과 같다.
+     */
+    public static class GroupedItem {
+
+        @NotNull(groups = UpdateCheck.class)
+        Long id;
+
+        @NotBlank(groups = {SaveCheck.class, UpdateCheck.class})
+        String itemName;
+
+        @NotNull(groups = {SaveCheck.class, UpdateCheck.class})
+        @Range(min = 1000, max = 1000000, groups = {SaveCheck.class, UpdateCheck.class})
+        Integer price;
+
+        @NotNull(groups = {SaveCheck.class, UpdateCheck.class})
+        @Max(value = 9999, groups = {SaveCheck.class})
+        Integer quantity;
+    }
+}
@@ -0,0 +1,44 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemValidator(직접 만든 검증기) 측정
+ * 컨트롤러처럼 요청마다 BindingResult 를 새로 만들어 검증한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ItemValidatorBenchmark {
+
+    // invalid: 필드 오류 3개 + 글로벌 오류(totalPriceMin) 1개
+    @Param({"valid", "invalid"})
+    String input;
+
+    ItemValidator validator = new ItemValidator();
+    Item item;
+
+    @Setup
+    public void setup() {
+        item = "valid".equals(input) ? new Item("itemA", 10000, 10) : new Item(" ", 1, 9999);
+    }
+
+    @Benchmark
+    public BindingResult validate() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        validator.validate(item, bindingResult);
+        return bindingResult;
+    }
+}
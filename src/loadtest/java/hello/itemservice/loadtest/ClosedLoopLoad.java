@@ -0,0 +1,83 @@
+package hello.itemservice.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가상 사용자마다 응답을 받으면 바로 다음 요청을 보낸다. (HTTP/1.1 연결 재사용 -> 사용자 수 = 연결 수)
+ * 2xx, 3xx 응답만 성공으로 센다.
+ */
+final class ClosedLoopLoad {
+
+    private final HttpRequest request;
+    private final int users;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile boolean running;
+    private volatile long measureStarted;
+
+    ClosedLoopLoad(HttpRequest request, int users) {
+        this.request = request;
+        this.users = users;
+    }
+
+    void start() {
+        running = true;
+        for (int i = 0; i < users; i++) {
+            next();
+        }
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    /**
+     * 워밍업이 끝나면 호출해서 그때부터 다시 센다.
+     */
+    void reset() {
+        completed.reset();
+        failed.reset();
+        latency.reset();
+        measureStarted = System.nanoTime();
+    }
+
+    double throughput() {
+        return completed.sum() / ((System.nanoTime() - measureStarted) / 1e9);
+    }
+
+    long completed() {
+        return completed.sum();
+    }
+
+    long failed() {
+        return failed.sum();
+    }
+
+    LatencyHistogram latency() {
+        return latency;
+    }
+
+    private void next() {
+        if (!running) {
+            return;
+        }
+        long started = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, e) -> {
+            if (e == null && response.statusCode() < 400) {
+                completed.increment();
+                latency.record(System.nanoTime() - started);
+            } else {
+                failed.increment();
+            }
+            next();
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package hello.itemservice.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상품 JSON API 의 Spring MVC(톰캣) 버전과 WebFlux(Netty) 버전을 동시 연결 수를 늘려 가며 비교한다. (./gradlew apiLoadTest)
+ * 서버 하나에 두 API 를 모두 열고(item.reactive.enabled=true), 같은 등록 요청(/validation/api/items/add)을 보낸다.
+ * 처리량이 더 늘지 않는 포화 상태에서 지연 시간(p50, p99, p99.9)이 어떻게 늘어나는지 본다.
+ * 결과는 build/reports/loadtest/item-api-load-test.csv 에 남는다.
+ *
+ * 시스템 프로퍼티
+ *  - loadtest.serverClasspath : 서버 클래스패스 (필수, gradle 이 넘겨준다)
+ *  - loadtest.concurrency (100,1000,10000), loadtest.warmup (10s), loadtest.duration (30s), loadtest.targets (mvc,reactive)
+ */
+public class ItemApiLoadTest {
+
+    private static final int REACTIVE_PORT = 18081;
+    private static final String BODY = "{\"itemName\":\"load\",\"price\":10000,\"quantity\":10}";
+
+    public static void main(String[] args) throws Exception {
+        int[] concurrencyLevels = parseInts(System.getProperty("loadtest.concurrency", "100,1000,10000"));
+        Duration warmup = Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s"));
+        Duration duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "30s"));
+        String[] targets = System.getProperty("loadtest.targets", "mvc,reactive").split(",");
+        int maxConcurrency = 0;
+        for (int concurrency : concurrencyLevels) {
+            maxConcurrency = Math.max(maxConcurrency, concurrency);
+        }
+
+        Path reportDir = Paths.get("build/reports/loadtest");
+        Files.createDirectories(reportDir);
+        List<String> lines = new ArrayList<>();
+        lines.add("target,concurrency,throughput,failed,p50Millis,p99Millis,p999Millis");
+        try (LoadTestServer ignored = LoadTestServer.start(maxConcurrency,
+                "--item.reactive.enabled=true", "--item.reactive.port=" + REACTIVE_PORT)) {
+            for (String target : targets) {
+                for (int concurrency : concurrencyLevels) {
+                    ClosedLoopLoad load = new ClosedLoopLoad(addItem(target.trim()), concurrency);
+                    load.start();
+                    Thread.sleep(warmup.toMillis());
+                    load.reset();
+                    Thread.sleep(duration.toMillis());
+
+                    String line = String.format("%s,%d,%.1f,%d,%d,%d,%d", target.trim(), concurrency, load.throughput(), load.failed(),
+                            load.latency().percentile(0.5), load.latency().percentile(0.99), load.latency().percentile(0.999));
+                    load.stop();
+                    System.out.println(line);
+                    lines.add(line);
+                }
+            }
+        }
+        Files.write(reportDir.resolve("item-api-load-test.csv"), lines);
+    }
+
+    private static HttpRequest addItem(String target) {
+        String baseUrl = "reactive".equals(target) ? "http://localhost:" + REACTIVE_PORT : LoadTestServer.BASE_URL;
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/validation/api/items/add"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(BODY))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+    }
+
+    private static int[] parseInts(String value) {
+        String[] tokens = value.split(",");
+        int[] result = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            result[i] = Integer.parseInt(tokens[i].trim());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,167 @@
+package hello.itemservice.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 톰캣 스레드 풀(platform)과 가상 스레드(virtual) 실행 모드의 처리량, 메모리 사용량 비교 (./gradlew loadTest)
+ * 모드마다 서버를 별도 프로세스로 띄우고, 동시 연결 수(connections)만큼의 가상 사용자가 쉬지 않고 상품을 등록한다.
+ * 상품 저장은 변경 기록(fsync)을 기다리므로 요청마다 블로킹 대기가 생긴다.
+ *
+ * 서버 메모리/스레드는 /actuator/prometheus 를 주기적으로 읽어 최댓값을 남긴다.
+ * 결과는 build/reports/loadtest/item-load-test.csv 에 모드별로 한 줄씩 남는다.
+ *
+ * 시스템 프로퍼티
+ *  - loadtest.serverClasspath : 서버 클래스패스 (필수, gradle 이 넘겨준다)
+ *  - loadtest.connections (10000), loadtest.warmup (10s), loadtest.duration (30s), loadtest.modes (platform,virtual)
+ * 동시 연결이 많으므로 파일 디스크립터 제한을 충분히 올려야 한다. (예: ulimit -n 65536)
+ */
+public class ItemLoadTest {
+
+    private static final HttpRequest ADD_ITEM = HttpRequest.newBuilder(URI.create(LoadTestServer.BASE_URL + "/validation/v4/items/add"))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString("itemName=load&price=10000&quantity=10"))
+            .timeout(Duration.ofSeconds(60))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        int connections = Integer.getInteger("loadtest.connections", 10000);
+        Duration warmup = Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s"));
+        Duration duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "30s"));
+        String[] modes = System.getProperty("loadtest.modes", "platform,virtual").split(",");
+
+        Path reportDir = Paths.get("build/reports/loadtest");
+        Files.createDirectories(reportDir);
+        List<String> lines = new ArrayList<>();
+        lines.add(Result.CSV_HEADER);
+        for (String mode : modes) {
+            Result result = run(mode.trim(), connections, warmup, duration);
+            System.out.println(result);
+            lines.add(result.toCsv());
+        }
+        Files.write(reportDir.resolve("item-load-test.csv"), lines);
+    }
+
+    private static Result run(String mode, int connections, Duration warmup, Duration duration) throws Exception {
+        try (LoadTestServer ignored = LoadTestServer.start(connections,
+                "--item.virtual-threads.enabled=" + "virtual".equals(mode))) {
+            ServerMetrics metrics = new ServerMetrics();
+            ClosedLoopLoad load = new ClosedLoopLoad(ADD_ITEM, connections);
+            load.start();
+
+            Thread.sleep(warmup.toMillis());
+            load.reset();
+            metrics.reset();
+            long deadline = System.nanoTime() + duration.toNanos();
+            while (System.nanoTime() < deadline) {
+                metrics.sample();
+                Thread.sleep(1000);
+            }
+            Result result = new Result(mode, connections, load.throughput(), load.failed(),
+                    load.latency().percentile(0.5), load.latency().percentile(0.99),
+                    metrics.maxHeapUsed.get(), metrics.maxNonHeapUsed.get(), metrics.maxLiveThreads.get());
+            load.stop();
+            return result;
+        }
+    }
+
+    /**
+     * 서버의 /actuator/prometheus 에서 메모리와 스레드 수를 읽는다.
+     */
+    private static final class ServerMetrics {
+
+        private final HttpClient client = HttpClient.newHttpClient();
+        private final HttpRequest request = HttpRequest.newBuilder(URI.create(LoadTestServer.BASE_URL + "/actuator/prometheus"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        private final AtomicLong maxHeapUsed = new AtomicLong();
+        private final AtomicLong maxNonHeapUsed = new AtomicLong();
+        private final AtomicLong maxLiveThreads = new AtomicLong();
+
+        void reset() {
+            maxHeapUsed.set(0);
+            maxNonHeapUsed.set(0);
+            maxLiveThreads.set(0);
+        }
+
+        void sample() {
+            String body;
+            try {
+                body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long heap = 0;
+            long nonHeap = 0;
+            for (String line : body.split("\n")) {
+                if (line.startsWith("jvm_memory_used_bytes{area=\"heap\"")) {
+                    heap += value(line);
+                } else if (line.startsWith("jvm_memory_used_bytes{area=\"nonheap\"")) {
+                    nonHeap += value(line);
+                } else if (line.startsWith("jvm_threads_live_threads")) {
+                    maxLiveThreads.accumulateAndGet(value(line), Math::max);
+                }
+            }
+            maxHeapUsed.accumulateAndGet(heap, Math::max);
+            maxNonHeapUsed.accumulateAndGet(nonHeap, Math::max);
+        }
+
+        private static long value(String line) {
+            return (long) Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+        }
+    }
+
+    private static final class Result {
+
+        static final String CSV_HEADER = "mode,connections,throughput,failed,p50Millis,p99Millis,maxHeapUsedBytes,maxNonHeapUsedBytes,maxLiveThreads";
+
+        private final String mode;
+        private final int connections;
+        private final double throughput;
+        private final long failed;
+        private final long p50Millis;
+        private final long p99Millis;
+        private final long maxHeapUsed;
+        private final long maxNonHeapUsed;
+        private final long maxLiveThreads;
+
+        private Result(String mode, int connections, double throughput, long failed, long p50Millis, long p99Millis,
+                       long maxHeapUsed, long maxNonHeapUsed, long maxLiveThreads) {
+            this.mode = mode;
+            this.connections = connections;
+            this.throughput = throughput;
+            this.failed = failed;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.maxHeapUsed = maxHeapUsed;
+            this.maxNonHeapUsed = maxNonHeapUsed;
+            this.maxLiveThreads = maxLiveThreads;
+        }
+
+        String toCsv() {
+            return String.format("%s,%d,%.1f,%d,%d,%d,%d,%d,%d", mode, connections, throughput, failed,
+                    p50Millis, p99Millis, maxHeapUsed, maxNonHeapUsed, maxLiveThreads);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%s] connections=%d throughput=%.1f/s failed=%d p50=%dms p99=%dms heap=%dMB nonheap=%dMB threads=%d",
+                    mode, connections, throughput, failed, p50Millis, p99Millis,
+                    maxHeapUsed >> 20, maxNonHeapUsed >> 20, maxLiveThreads);
+        }
+    }
+}
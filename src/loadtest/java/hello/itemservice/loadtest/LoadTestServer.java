@@ -0,0 +1,81 @@
+package hello.itemservice.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트 대상 서버를 별도 프로세스로 띄운다. (부하를 만드는 쪽과 메모리, CPU 를 섞지 않기 위해)
+ * 상품 저장은 fsync 를 기다리도록 임시 디렉토리에 변경 기록을 남긴다.
+ */
+final class LoadTestServer implements AutoCloseable {
+
+    static final int PORT = 18080;
+    static final String BASE_URL = "http://localhost:" + PORT;
+
+    private final Process process;
+
+    private LoadTestServer(Process process) {
+        this.process = process;
+    }
+
+    static LoadTestServer start(int connections, String... args) throws IOException, InterruptedException {
+        String serverClasspath = System.getProperty("loadtest.serverClasspath");
+        if (serverClasspath == null) {
+            throw new IllegalArgumentException("loadtest.serverClasspath 시스템 프로퍼티가 필요합니다.");
+        }
+        Path dataDir = Files.createTempDirectory("item-load-test-");
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>(List.of(java, "-Xms1g", "-Xmx1g", "-cp", serverClasspath,
+                "hello.itemservice.ItemServiceApplication",
+                "--server.port=" + PORT,
+                "--server.tomcat.max-connections=" + (connections * 2),
+                "--server.tomcat.accept-count=" + connections,
+                "--item.persistence.enabled=true",
+                "--item.persistence.directory=" + dataDir,
+                "--logging.level.root=warn"));
+        command.addAll(List.of(args));
+
+        LoadTestServer server = new LoadTestServer(new ProcessBuilder(command).inheritIO().start());
+        server.awaitStarted();
+        return server;
+    }
+
+    private void awaitStarted() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(BASE_URL + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        for (int i = 0; i < 120; i++) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("서버가 종료되었습니다. exitValue=" + process.exitValue());
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // 아직 시작 중
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("서버가 60초 안에 시작되지 않았습니다.");
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
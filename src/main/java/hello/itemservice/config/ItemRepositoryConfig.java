@@ -0,0 +1,110 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.ColumnarItemStore;
+import hello.itemservice.domain.item.ItemJournal;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemStore;
+import hello.itemservice.domain.item.MemoryItemStore;
+import hello.itemservice.domain.item.MeteredItemRepository;
+import hello.itemservice.domain.item.cache.CachingItemStore;
+import hello.itemservice.domain.item.cache.EvictionPolicy;
+import hello.itemservice.domain.item.persistence.ItemPersistence;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * 상품 저장소 설정
+ * item.store.type
+ *  - memory   : Item 객체를 그대로 보관 (기본값)
+ *  - columnar : 가격/수량/상품명을 기본형 컬럼에 보관, 상품이 수천만 개 이상일 때 사용
+ * item.index.enabled : 보조 인덱스 사용 여부 (인덱스는 상품마다 객체를 만들므로 columnar 로 큰 카탈로그를 다룰 때는 끄는 것이 좋다)
+ * item.persistence.enabled : 변경 기록(로그) + 스냅샷으로 재시작 후에도 상품을 유지할지 여부
+ *  - 스냅샷은 메모리 매핑으로 열고 필요한 부분만 읽는다. 인덱스를 켜 두면 시작할 때 전체를 읽게 되므로 함께 끄는 것이 좋다.
+ * item.cache.enabled : 저장 엔진 앞에 상품 단위 캐시(CachingItemStore)를 둘지 여부
+ *  - 조회마다 Item 을 새로 만드는 columnar 저장 엔진이나 스냅샷에서 자주 보는 상품(상세, 수정 폼)의 조회 비용을 줄인다.
+ *  - item.cache.maximum-size, item.cache.policy (lru, w-tinylfu), item.cache.ttl (0 이면 만료 없음)
+ */
+@Configuration
+public class ItemRepositoryConfig {
+
+    @Bean
+    public ItemStore itemStore(@Value("${item.store.type:memory}") String storeType) {
+        switch (storeType) {
+            case "memory":
+                return new MemoryItemStore();
+            case "columnar":
+                return new ColumnarItemStore();
+            default:
+                throw new IllegalArgumentException("지원하지 않는 item.store.type 입니다. type=" + storeType);
+        }
+    }
+
+    /**
+     * 생성되면서 디렉토리의 스냅샷과 로그로 itemStore 를 복구한다.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "item.persistence.enabled", havingValue = "true")
+    public ItemPersistence itemPersistence(ItemStore itemStore,
+                                           @Value("${item.persistence.directory:./data}") String directory,
+                                           @Value("${item.persistence.fsync:true}") boolean fsync,
+                                           @Value("${item.persistence.snapshot-interval:10m}") Duration snapshotInterval) throws IOException {
+        return new ItemPersistence(itemStore, Paths.get(directory), fsync, snapshotInterval);
+    }
+
+    /**
+     * 연산 시간과 상품 수를 운영 지표로 내보낸다. (MeteredItemRepository)
+     */
+    @Bean
+    public ItemRepository itemRepository(ItemStore itemStore,
+                                         ObjectProvider<ItemPersistence> itemPersistence,
+                                         @Value("${item.index.enabled:true}") boolean indexEnabled,
+                                         @Value("${item.cache.enabled:false}") boolean cacheEnabled,
+                                         @Value("${item.cache.maximum-size:10000}") int cacheMaximumSize,
+                                         @Value("${item.cache.policy:w-tinylfu}") String cachePolicy,
+                                         @Value("${item.cache.ttl:0}") Duration cacheTtl,
+                                         MeterRegistry meterRegistry) {
+        ItemPersistence persistence = itemPersistence.getIfAvailable();
+        // 스냅샷이 있으면 스냅샷 위에 itemStore(변경분)를 얹은 저장 엔진을 사용한다.
+        ItemStore store = persistence == null ? itemStore : persistence.store();
+        ItemJournal journal = persistence == null ? ItemJournal.NONE : persistence.journal();
+        if (cacheEnabled) {
+            CachingItemStore cache = new CachingItemStore(store, cacheMaximumSize, EvictionPolicy.of(cachePolicy), cacheTtl);
+            registerCacheMetrics(cache, meterRegistry);
+            store = cache;
+        }
+        return new MeteredItemRepository(store, indexEnabled, journal, meterRegistry);
+    }
+
+    /**
+     * 캐시 지표 (cache=item 태그)
+     *  - cache.gets (result=hit, miss), cache.evictions, cache.size
+     */
+    private static void registerCacheMetrics(CachingItemStore cache, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("cache.gets", cache, CachingItemStore::hitCount)
+                .tag("cache", "item").tag("result", "hit")
+                .description("상품 캐시 조회 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", cache, CachingItemStore::missCount)
+                .tag("cache", "item").tag("result", "miss")
+                .description("상품 캐시 조회 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", cache, CachingItemStore::evictionCount)
+                .tag("cache", "item")
+                .description("크기 제한으로 버린 상품 수")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", cache, CachingItemStore::cachedCount)
+                .tag("cache", "item")
+                .description("캐시에 있는 상품 수")
+                .register(meterRegistry);
+    }
+}
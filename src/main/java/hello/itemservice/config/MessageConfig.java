@@ -0,0 +1,97 @@
+package hello.itemservice.config;
+
+import hello.itemservice.web.message.CachingMessageCodesResolver;
+import hello.itemservice.web.message.CachingMessageSource;
+import hello.itemservice.web.message.CompiledMessageSource;
+import hello.itemservice.web.message.MessageBundleReloadedEvent;
+import hello.itemservice.web.message.MessageBundleWatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 메시지 설정
+ * 스프링 부트의 기본 messageSource 와 같은 설정(spring.messages.*)으로 번들을 읽고, 그 앞에 캐시를 둔다.
+ * 번들의 메시지는 로케일마다 한 번만 해석해 둔다. (CompiledMessageSource)
+ * messageSource 빈을 직접 등록하므로 스프링 부트의 MessageSourceAutoConfiguration 은 동작하지 않는다. (spring.messages.cache-duration 은 사용하지 않는다)
+ *
+ * item.message.cache-size : 메시지 코드 목록 / 찾은 메시지 코드 캐시 크기
+ * item.message.directory : 클래스패스보다 먼저 번들 파일을 찾을 디렉토리 (재배포 없이 문구를 바꿀 때 사용)
+ * item.message.reload.enabled : 번들 파일이 바뀌면 다시 읽을지 여부 (MessageBundleWatcher)
+ * 번들을 다시 읽으면 MessageBundleReloadedEvent 를 발행한다.
+ */
+@Configuration
+public class MessageConfig {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MessageConfig(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.messages")
+    public MessageSourceProperties messageSourceProperties() {
+        return new MessageSourceProperties();
+    }
+
+    /**
+     * messageSource 안에서만 사용한다. (MessageSource 타입으로 주입되지 않도록 autowireCandidate = false)
+     */
+    @Bean(autowireCandidate = false)
+    public CompiledMessageSource compiledMessageSource(MessageSourceProperties properties,
+                                                       @Value("${item.message.directory:}") String directory) {
+        List<String> basenames = StringUtils.hasText(properties.getBasename())
+                ? Arrays.asList(StringUtils.commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(properties.getBasename())))
+                : List.of();
+        Charset encoding = properties.getEncoding() != null ? properties.getEncoding() : StandardCharsets.UTF_8;
+        CompiledMessageSource messageSource = new CompiledMessageSource(basenames, encoding, properties.isFallbackToSystemLocale(),
+                properties.isAlwaysUseMessageFormat(), properties.isUseCodeAsDefaultMessage(),
+                StringUtils.hasText(directory) ? Paths.get(directory) : null);
+        messageSource.addReloadListener(() -> eventPublisher.publishEvent(new MessageBundleReloadedEvent(messageSource)));
+        return messageSource;
+    }
+
+    @Bean
+    public MessageSource messageSource(MessageSourceProperties properties,
+                                       @Value("${item.message.directory:}") String directory,
+                                       @Value("${item.message.cache-size:10000}") int cacheSize) {
+        CompiledMessageSource messageSource = compiledMessageSource(properties, directory);
+
+        // 코드를 기본 메시지로 쓰면 메시지가 없는 코드도 찾은 것처럼 보이므로 캐시를 두지 않는다.
+        if (properties.isUseCodeAsDefaultMessage()) {
+            return messageSource;
+        }
+        CachingMessageSource cachingMessageSource = new CachingMessageSource(messageSource, cacheSize);
+        // 번들을 다시 읽으면 메시지가 있는 코드가 달라질 수 있다.
+        messageSource.addReloadListener(cachingMessageSource::clear);
+        return cachingMessageSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "item.message.reload.enabled", havingValue = "true")
+    public MessageBundleWatcher messageBundleWatcher(MessageSourceProperties properties,
+                                                     @Value("${item.message.directory:}") String directory,
+                                                     @Value("${item.message.reload.quiet-period:500ms}") Duration quietPeriod) throws IOException {
+        return new MessageBundleWatcher(compiledMessageSource(properties, directory), quietPeriod);
+    }
+
+    @Bean
+    public CachingMessageCodesResolver messageCodesResolver(@Value("${item.message.cache-size:10000}") int cacheSize) {
+        return new CachingMessageCodesResolver(cacheSize);
+    }
+}
@@ -0,0 +1,45 @@
+package hello.itemservice.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 운영 지표 설정 (Prometheus 형식: /actuator/prometheus)
+ * - http.server.requests : 스프링 부트가 요청마다 재는 타이머에 처리한 컨트롤러 메서드(handler) 태그를 더한다.
+ * - item.repository, item.store.size : MeteredItemRepository (ItemRepositoryConfig)
+ * - validation.errors : ValidationMetrics
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final Tag NO_HANDLER = Tag.of("handler", "none");
+
+    /**
+     * 예) handler=ValidationItemControllerV4.addItem
+     */
+    @Bean
+    public WebMvcTagsContributor handlerTagsContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler, Throwable exception) {
+                if (!(handler instanceof HandlerMethod)) {
+                    return Tags.of(NO_HANDLER);
+                }
+                HandlerMethod handlerMethod = (HandlerMethod) handler;
+                return Tags.of("handler", handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.cache.RenderedPageCache;
+import hello.itemservice.web.cache.RenderedPageCacheFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 상품 상세/목록 화면 캐시 설정 (item.page-cache.enabled)
+ * item.page-cache.max-entries : 보관할 화면 수 (경로 + 쿼리, 로케일마다 하나)
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.page-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class PageCacheConfig {
+
+    @Bean
+    public RenderedPageCache renderedPageCache(@Value("${item.page-cache.max-entries:1000}") int maxEntries) {
+        return new RenderedPageCache(maxEntries);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RenderedPageCacheFilter> renderedPageCacheFilter(RenderedPageCache renderedPageCache,
+                                                                                  ItemRepository itemRepository,
+                                                                                  MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RenderedPageCacheFilter> registration =
+                new FilterRegistrationBean<>(new RenderedPageCacheFilter(renderedPageCache, itemRepository, meterRegistry));
+        registration.addUrlPatterns("/validation/*");
+        return registration;
+    }
+}
@@ -0,0 +1,82 @@
+package hello.itemservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import hello.itemservice.web.reactive.ItemReactiveHandler;
+import hello.itemservice.web.reactive.ReactiveItemApiServer;
+import hello.itemservice.web.validation.ValidationErrorLogger;
+import hello.itemservice.web.validation.bulk.ItemBulkImporter;
+import hello.itemservice.web.validation.bulk.ItemStreamImporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux 상품 API 설정 (item.reactive.enabled=true)
+ * ValidationItemApiController 와 같은 경로(/validation/api/items)를 별도 포트(item.reactive.port)의 Netty 서버에 연다.
+ *  - GET  /validation/api/items            : 전체 목록 (Flux, ?limit=)
+ *  - GET  /validation/api/items/{itemId}   : 상세
+ *  - POST /validation/api/items/add        : 등록
+ *  - POST /validation/api/items/bulk       : 대량 등록 (JSON 배열)
+ *  - POST /validation/api/items/{itemId}/edit : 수정 (version 이 다르면 409)
+ * item.reactive.event-loop-threads : 이벤트 루프 스레드 수 (0 이면 CPU 코어 수)
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.reactive.enabled", havingValue = "true")
+public class ReactiveApiConfig {
+
+    // 저장(fsync 대기)처럼 블로킹하는 작업을 처리할 스레드 (기본: CPU 코어 수 x 10, 필요할 때만 만든다)
+    @Bean(destroyMethod = "dispose")
+    public Scheduler itemReactiveBlockingScheduler() {
+        return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "item-reactive-blocking");
+    }
+
+    @Bean
+    public ItemReactiveHandler itemReactiveHandler(ItemRepository itemRepository, ItemBulkImporter itemBulkImporter,
+                                                   ItemStreamImporter itemStreamImporter, javax.validation.Validator validator,
+                                                   MessageSource messageSource, ValidationMetrics validationMetrics,
+                                                   ValidationErrorLogger validationErrorLogger, Scheduler itemReactiveBlockingScheduler) {
+        return new ItemReactiveHandler(itemRepository, itemBulkImporter, itemStreamImporter, validator, messageSource,
+                validationMetrics, validationErrorLogger, itemReactiveBlockingScheduler);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> itemReactiveRoutes(ItemReactiveHandler handler) {
+        return RouterFunctions.route()
+                .GET("/validation/api/items", handler::items)
+                .path("/validation/api/items", builder -> builder
+                        .POST("/add", handler::addItem)
+                        .POST("/bulk", handler::addItems)
+                        .GET("/{itemId}", handler::item)
+                        .POST("/{itemId}/edit", handler::editItem))
+                .build();
+    }
+
+    // 스프링 MVC 와 같은 ObjectMapper(spring.jackson.*)로 JSON 을 읽고 쓴다.
+    @Bean
+    public ReactiveItemApiServer reactiveItemApiServer(RouterFunction<ServerResponse> itemReactiveRoutes, ObjectMapper objectMapper,
+                                                       @Value("${item.reactive.port:8081}") int port,
+                                                       @Value("${item.reactive.event-loop-threads:0}") int eventLoopThreads) {
+        MediaType[] mediaTypes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON};
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper, mediaTypes));
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper, mediaTypes));
+                })
+                .build();
+        return new ReactiveItemApiServer(RouterFunctions.toHttpHandler(itemReactiveRoutes, strategies), port, eventLoopThreads);
+    }
+}
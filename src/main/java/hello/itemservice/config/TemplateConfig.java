@@ -0,0 +1,84 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.render.ProfilingSpringStandardDialect;
+import hello.itemservice.web.render.TemplateRenderEndpoint;
+import hello.itemservice.web.render.TemplateRenderProfiler;
+import hello.itemservice.web.render.TemplateWarmup;
+import hello.itemservice.web.render.TemplateWarmupFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.thymeleaf.dialect.IDialect;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.spring5.dialect.SpringStandardDialect;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 타임리프 템플릿 설정
+ * - 시작할 때 모든 상품 화면을 한 번씩 렌더링해서 템플릿 파싱, SpEL 식 캐시를 미리 채운다. (item.thymeleaf.warmup.*)
+ * - 템플릿마다 렌더링 시간을 잰다. (thymeleaf.render, TemplateRenderInterceptor 는 WebConfig 에서 등록)
+ * - item.thymeleaf.profile.expressions=true 면 ${...} 식마다 평가 시간도 잰다. (/actuator/templates)
+ * SpEL 식을 바이트코드로 컴파일하는 것은 스프링 부트 설정(spring.thymeleaf.enable-spring-el-compiler)을 사용한다.
+ */
+@Configuration
+public class TemplateConfig {
+
+    @Bean
+    public TemplateRenderProfiler templateRenderProfiler(MeterRegistry meterRegistry) {
+        return new TemplateRenderProfiler(meterRegistry);
+    }
+
+    @Bean
+    public TemplateRenderEndpoint templateRenderEndpoint(TemplateRenderProfiler templateRenderProfiler) {
+        return new TemplateRenderEndpoint(templateRenderProfiler);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "item.thymeleaf.warmup.enabled", havingValue = "true", matchIfMissing = true)
+    public TemplateWarmup templateWarmup(ItemRepository itemRepository, ServerProperties serverProperties,
+                                         @Value("${item.thymeleaf.warmup.rounds:3}") int rounds) {
+        return new TemplateWarmup(itemRepository, serverProperties, rounds);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "item.thymeleaf.warmup.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<TemplateWarmupFilter> templateWarmupFilter(TemplateWarmup templateWarmup) {
+        return new FilterRegistrationBean<>(new TemplateWarmupFilter(templateWarmup));
+    }
+
+    /**
+     * 스프링 부트가 만든 SpringTemplateEngine 의 SpringStandardDialect 를 식 평가 시간을 재는 dialect 로 바꾼다.
+     * 엔진은 처음 템플릿을 처리할 때 초기화되므로 빈 초기화 전에 바꾸면 된다.
+     * 스프링 부트가 기존 dialect 에 넣은 설정(SpEL 컴파일러, 체크박스 hidden 위치)은 새 dialect 로 옮긴다.
+     * (BeanPostProcessor 는 일찍 만들어지므로 다른 빈은 ObjectProvider 로 나중에 꺼낸다)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "item.thymeleaf.profile.expressions", havingValue = "true")
+    public static BeanPostProcessor profilingDialectPostProcessor(ObjectProvider<TemplateRenderProfiler> templateRenderProfiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof SpringTemplateEngine) {
+                    SpringTemplateEngine engine = (SpringTemplateEngine) bean;
+                    Set<IDialect> dialects = new LinkedHashSet<>();
+                    for (IDialect dialect : engine.getDialects()) {
+                        dialects.add(dialect instanceof SpringStandardDialect
+                                ? new ProfilingSpringStandardDialect((SpringStandardDialect) dialect, templateRenderProfiler.getObject())
+                                : dialect);
+                    }
+                    engine.setDialects(dialects);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package hello.itemservice.config;
+
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 스레드(Loom) 실행 모드 (item.virtual-threads.enabled=true, JDK 21 이상)
+ * 톰캣의 고정 크기 스레드 풀(server.tomcat.threads.max) 대신 요청마다 가상 스레드를 만들어 처리한다.
+ * 검증과 저장(변경 기록 fsync 대기)도 요청 스레드에서 하므로 함께 가상 스레드에서 실행된다.
+ * -> 블로킹 대기 중에는 캐리어 스레드를 내놓기 때문에 동시 요청이 많아도 스레드가 쌓이지 않는다.
+ *
+ * 컴파일 대상은 Java 11 이라서 가상 스레드 API 는 리플렉션으로 찾는다. (./gradlew bootRun -Ploom)
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return newVirtualThreadPerTaskExecutor("item-vt-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> {
+            if (protocolHandler instanceof AbstractProtocol) {
+                ((AbstractProtocol<?>) protocolHandler).setExecutor(virtualThreadExecutor);
+            }
+        };
+    }
+
+    /**
+     * Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드는 JDK 21 이상에서만 사용할 수 있습니다. java.version="
+                    + System.getProperty("java.version"), e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package hello.itemservice.config;
+
+import hello.itemservice.web.message.CachingMessageCodesResolver;
+import hello.itemservice.web.metrics.ValidationMetricsInterceptor;
+import hello.itemservice.web.render.TemplateRenderInterceptor;
+import hello.itemservice.web.render.TemplateRenderProfiler;
+import hello.itemservice.web.validation.compiled.CompiledValidator;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 스프링 MVC 설정
+ * 글로벌 Validator : @Validated 검증을 미리 컴파일한 검사 목록으로 먼저 처리한다. (CompiledValidator)
+ * MessageCodesResolver : WebDataBinder 가 오류 코드 목록을 만들 때 캐시를 사용한다. (CachingMessageCodesResolver)
+ * 인터셉터 : 요청마다 바인딩/검증 오류를 센다. (ValidationMetricsInterceptor)
+ *           템플릿마다 렌더링 시간을 잰다. (TemplateRenderInterceptor)
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CompiledValidator validator;
+    private final MessageCodesResolver messageCodesResolver;
+    private final ValidationMetricsInterceptor validationMetricsInterceptor;
+    private final TemplateRenderInterceptor templateRenderInterceptor;
+
+    // 스프링 부트가 등록한 Bean Validation(LocalValidatorFactoryBean)을 실패 시 검증기로 사용한다.
+    public WebConfig(javax.validation.Validator beanValidator, CachingMessageCodesResolver messageCodesResolver,
+                     ValidationMetricsInterceptor validationMetricsInterceptor, TemplateRenderProfiler templateRenderProfiler) {
+        SmartValidator delegate = beanValidator instanceof SmartValidator
+                ? (SmartValidator) beanValidator
+                : new SpringValidatorAdapter(beanValidator);
+        this.validator = new CompiledValidator(delegate);
+        this.messageCodesResolver = messageCodesResolver;
+        this.validationMetricsInterceptor = validationMetricsInterceptor;
+        this.templateRenderInterceptor = new TemplateRenderInterceptor(templateRenderProfiler);
+    }
+
+    @Override
+    public Validator getValidator() {
+        return validator;
+    }
+
+    @Override
+    public MessageCodesResolver getMessageCodesResolver() {
+        return messageCodesResolver;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(validationMetricsInterceptor);
+        registry.addInterceptor(templateRenderInterceptor);
+    }
+}
@@ -0,0 +1,289 @@
+package hello.itemservice.domain.item;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 상품을 객체가 아닌 기본형 컬럼(int[], byte[])에 나눠 담는 저장 엔진
+ * id 는 (id - 1) 위치(slot)로 표현하고, 가격/수량은 int 컬럼, 상품명은 세그먼트마다 하나인 UTF-8 바이트 영역에 이어 붙인다.
+ * 상품 하나당 힙 사용량이 Item + Long + Integer 객체 대비 크게 줄고, 큰 배열 몇 개만 남으므로 GC 부담도 일정하다.
+ * Item 객체는 조회할 때(get, iterator)만 새로 만들어 돌려준다. 돌려받은 Item 을 수정해도 저장소에는 반영되지 않는다.
+ *
+ * 세그먼트 단위 StampedLock 으로 쓰기는 직렬화하고, 읽기는 낙관적 읽기로 락 없이 처리한다.
+ */
+public class ColumnarItemStore implements ItemStore {
+
+    private static final int SEGMENT_SHIFT = 16;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final int INITIAL_NAME_CAPACITY = 1024;
+
+    private static final byte PRESENT = 1;
+    private static final byte NULL_NAME = 1 << 1;
+    private static final byte NULL_PRICE = 1 << 2;
+    private static final byte NULL_QUANTITY = 1 << 3;
+
+    // 세그먼트 목록은 copy-on-write 로 교체한다. (세그먼트가 추가될 때만 복사)
+    private volatile Segment[] segments = new Segment[0];
+    private final Object segmentsLock = new Object();
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong maxId = new AtomicLong();
+
+    @Override
+    public void put(Item item) {
+        long id = item.getId();
+        if (id < 1) {
+            throw new IllegalArgumentException("id 는 1 이상이어야 합니다. id=" + id);
+        }
+        if (segmentForWrite(id).write(slotOf(id), item)) {
+            count.incrementAndGet();
+        }
+        maxId.accumulateAndGet(id, Math::max);
+    }
+
+    @Override
+    public Item get(long id) {
+        Segment segment = segmentForRead(id);
+        return segment == null ? null : segment.read(slotOf(id), id);
+    }
+
+    @Override
+    public Iterator<Item> iterator(Long cursor, boolean descending) {
+        if (descending) {
+            return new ColumnIterator(cursor == null ? maxId.get() : cursor - 1, -1);
+        }
+        return new ColumnIterator(cursor == null ? 1 : cursor + 1, 1);
+    }
+
+    @Override
+    public long size() {
+        return count.get();
+    }
+
+    @Override
+    public long maxId() {
+        return maxId.get();
+    }
+
+    @Override
+    public void clear() {
+        synchronized (segmentsLock) {
+            segments = new Segment[0];
+            count.set(0);
+            maxId.set(0);
+        }
+    }
+
+    private static int slotOf(long id) {
+        return (int) ((id - 1) & SEGMENT_MASK);
+    }
+
+    private Segment segmentForRead(long id) {
+        if (id < 1) {
+            return null;
+        }
+        long index = (id - 1) >>> SEGMENT_SHIFT;
+        Segment[] current = segments;
+        return index < current.length ? current[(int) index] : null;
+    }
+
+    private Segment segmentForWrite(long id) {
+        Segment segment = segmentForRead(id);
+        if (segment != null) {
+            return segment;
+        }
+
+        int index = Math.toIntExact((id - 1) >>> SEGMENT_SHIFT);
+        synchronized (segmentsLock) {
+            Segment[] current = segments;
+            if (index < current.length && current[index] != null) {
+                return current[index];
+            }
+            Segment[] grown = Arrays.copyOf(current, Math.max(index + 1, current.length));
+            grown[index] = new Segment();
+            segments = grown;
+            return grown[index];
+        }
+    }
+
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+
+        private final byte[] flags = new byte[SEGMENT_SIZE];
+        private final int[] prices = new int[SEGMENT_SIZE];
+        private final int[] quantities = new int[SEGMENT_SIZE];
+        private final int[] versions = new int[SEGMENT_SIZE]; // 0 이면 version 없음
+        private final int[] nameOffsets = new int[SEGMENT_SIZE];
+        private final int[] nameLengths = new int[SEGMENT_SIZE];
+
+        // 상품명 바이트 영역, 수정되면 새 이름을 뒤에 붙이고 이전 이름은 garbage 로 남긴다.
+        private byte[] names = new byte[INITIAL_NAME_CAPACITY];
+        private int namesEnd;
+        private int garbage;
+
+        /**
+         * @return 새로 추가된 상품이면 true, 덮어썼으면 false
+         */
+        boolean write(int slot, Item item) {
+            byte[] name = item.getItemName() == null ? null : item.getItemName().getBytes(StandardCharsets.UTF_8);
+
+            long stamp = lock.writeLock();
+            try {
+                byte previous = flags[slot];
+                boolean inserted = (previous & PRESENT) == 0;
+                int replacedNameLength = !inserted && (previous & NULL_NAME) == 0 ? nameLengths[slot] : 0;
+
+                byte flag = PRESENT;
+                if (name == null) {
+                    flag |= NULL_NAME;
+                } else {
+                    ensureNameCapacity(name.length);
+                    System.arraycopy(name, 0, names, namesEnd, name.length);
+                    nameOffsets[slot] = namesEnd;
+                    nameLengths[slot] = name.length;
+                    namesEnd += name.length;
+                }
+                if (item.getPrice() == null) {
+                    flag |= NULL_PRICE;
+                } else {
+                    prices[slot] = item.getPrice();
+                }
+                if (item.getQuantity() == null) {
+                    flag |= NULL_QUANTITY;
+                } else {
+                    quantities[slot] = item.getQuantity();
+                }
+                versions[slot] = item.getVersion() == null ? 0 : item.getVersion();
+                flags[slot] = flag;
+                garbage += replacedNameLength;
+                return inserted;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        Item read(int slot, long id) {
+            long stamp = lock.tryOptimisticRead();
+            Item item = readSlot(slot, id);
+            if (lock.validate(stamp)) {
+                return item;
+            }
+
+            // 쓰기와 겹쳤으면 읽기 락으로 다시 읽는다.
+            stamp = lock.readLock();
+            try {
+                return readSlot(slot, id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // 낙관적 읽기 중에는 값이 섞여 있을 수 있으므로 예외 없이 끝나기만 하면 된다. (validate 실패 시 버려진다)
+        private Item readSlot(int slot, long id) {
+            byte flag = flags[slot];
+            if ((flag & PRESENT) == 0) {
+                return null;
+            }
+
+            String itemName = null;
+            if ((flag & NULL_NAME) == 0) {
+                byte[] currentNames = names;
+                int offset = nameOffsets[slot];
+                int length = nameLengths[slot];
+                if (offset < 0 || length < 0 || offset + length > currentNames.length) {
+                    return null;
+                }
+                itemName = new String(currentNames, offset, length, StandardCharsets.UTF_8);
+            }
+
+            Integer price = (flag & NULL_PRICE) == 0 ? prices[slot] : null;
+            Integer quantity = (flag & NULL_QUANTITY) == 0 ? quantities[slot] : null;
+            Item item = new Item(itemName, price, quantity);
+            item.setId(id);
+            int version = versions[slot];
+            item.setVersion(version == 0 ? null : version);
+            return item;
+        }
+
+        private void ensureNameCapacity(int length) {
+            if (namesEnd + length <= names.length) {
+                return;
+            }
+            // 버려진 이름이 절반 이상이면 늘리지 않고 살아있는 이름만 모은다.
+            if (garbage >= namesEnd / 2) {
+                compactNames(namesEnd - garbage + length);
+            } else {
+                names = Arrays.copyOf(names, Math.max(names.length * 2, namesEnd + length));
+            }
+        }
+
+        private void compactNames(int required) {
+            byte[] compacted = new byte[Math.max(INITIAL_NAME_CAPACITY, required * 2)];
+            int end = 0;
+            for (int slot = 0; slot < SEGMENT_SIZE; slot++) {
+                if ((flags[slot] & PRESENT) != 0 && (flags[slot] & NULL_NAME) == 0) {
+                    System.arraycopy(names, nameOffsets[slot], compacted, end, nameLengths[slot]);
+                    nameOffsets[slot] = end;
+                    end += nameLengths[slot];
+                }
+            }
+            names = compacted;
+            namesEnd = end;
+            garbage = 0;
+        }
+    }
+
+    private final class ColumnIterator implements Iterator<Item> {
+
+        private final long step;
+        private long nextId;
+        private Item next;
+
+        private ColumnIterator(long startId, long step) {
+            this.nextId = startId;
+            this.step = step;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Item next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Item result = next;
+            advance();
+            return result;
+        }
+
+        private void advance() {
+            next = null;
+            long last = maxId.get();
+            while (next == null && nextId >= 1 && nextId <= last) {
+                Segment segment = segmentForRead(nextId);
+                if (segment == null) {
+                    skipSegment();
+                    continue;
+                }
+                next = segment.read(slotOf(nextId), nextId);
+                nextId += step;
+            }
+        }
+
+        // 비어 있는 세그먼트는 통째로 건너뛴다.
+        private void skipSegment() {
+            long segmentStart = ((nextId - 1) & ~(long) SEGMENT_MASK) + 1;
+            nextId = step > 0 ? segmentStart + SEGMENT_SIZE : segmentStart - 1;
+        }
+    }
+}
@@ -10,6 +10,8 @@ import javax.validation.constraints.NotNull;
 @Data
 public class Item {
 
+    public static final int INITIAL_VERSION = 1;
+
 //    @NotNull(groups = UpdateCheck.class)
     private Long id;
 
@@ -24,6 +26,9 @@ public class Item {
 //    @Max(value = 9999, groups = {SaveCheck.class})
     private Integer quantity;
 
+    // 저장할 때 1 로 시작해서 수정할 때마다 1 씩 늘어난다. 수정 폼은 읽었던 version 을 함께 보내서 동시 수정을 막는다.
+    private Integer version;
+
     public Item() {
     }
 
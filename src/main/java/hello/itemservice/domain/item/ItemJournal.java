@@ -0,0 +1,34 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 상품 변경 기록 (write-ahead log)
+ * ItemRepository 는 저장 엔진에 반영한 직후 같은 락 안에서 append 하고, 락을 놓은 뒤 awaitDurable 로 기록 완료를 기다린다.
+ * -> 같은 상품의 변경은 반영한 순서대로 기록되고, 디스크 대기 중에는 다른 요청을 막지 않는다.
+ */
+public interface ItemJournal {
+
+    /**
+     * 기록하지 않는다. (메모리에만 보관)
+     */
+    ItemJournal NONE = new ItemJournal() {
+        @Override
+        public long append(Item item) {
+            return 0;
+        }
+
+        @Override
+        public void awaitDurable(long position) {
+        }
+    };
+
+    /**
+     * 상품의 현재 상태 전체를 기록 대기열에 넣는다.
+     * @return 기록 위치, awaitDurable 에 넘긴다.
+     */
+    long append(Item item);
+
+    /**
+     * position 까지 디스크에 기록될 때까지 기다린다.
+     */
+    void awaitDurable(long position);
+}
@@ -0,0 +1,21 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ItemPage {
+
+    private final List<Item> content;
+    private final Long nextCursor; // 다음 페이지가 없으면 null
+
+    public ItemPage(List<Item> content, Long nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,38 @@
+package hello.itemservice.domain.item;
+
+import lombok.Data;
+
+/**
+ * 상품 목록 페이지 조회 조건
+ * offset 대신 마지막으로 본 id(cursor) 기준으로 다음 페이지를 찾는다. (keyset 페이징)
+ * -> 상품이 아무리 많아도 한 페이지를 만드는 비용은 페이지 크기에만 비례한다.
+ */
+@Data
+public class ItemPageRequest {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private Long cursor;
+    private int size = DEFAULT_SIZE;
+    private Direction direction = Direction.ASC;
+
+    public enum Direction {
+        ASC, DESC
+    }
+
+    public static ItemPageRequest of(Long cursor, int size, Direction direction) {
+        ItemPageRequest pageRequest = new ItemPageRequest();
+        pageRequest.setCursor(cursor);
+        pageRequest.setSize(size);
+        pageRequest.setDirection(direction);
+        return pageRequest;
+    }
+
+    /**
+     * 요청한 크기가 너무 크거나 작으면 허용 범위로 맞춘다.
+     */
+    public int getPageSize() {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
@@ -1,41 +1,276 @@
 package hello.itemservice.domain.item;
 
-import org.springframework.stereotype.Repository;
-
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-@Repository
+/**
+ * 상품 저장소
+ * 실제 보관은 ItemStore(저장 엔진)에 맡기고, 여기서는 id 발급, 같은 상품 수정의 직렬화, 보조 인덱스를 담당한다.
+ * 스프링 빈 등록은 ItemRepositoryConfig 에서 설정(item.store.type)에 맞는 저장 엔진과 함께 한다.
+ */
 public class ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    // 여러 톰캣 스레드가 동시에 접근하므로 저장 엔진은 동시성을 보장해야 하고, id 는 AtomicLong 으로 발급한다.
+    private final ItemStore store;
+    private final ItemJournal journal;
+    private final AtomicLong sequence;
+    // 저장/수정/삭제할 때마다 1씩 늘어난다. (목록 화면 캐시가 바뀐 것이 있는지 확인할 때 사용)
+    private final AtomicLong modifications = new AtomicLong();
+
+    // 같은 상품에 대한 수정만 직렬화하기 위한 락 스트라이프 (전역 락 X)
+    private static final int LOCK_STRIPES = 64;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    // 보조 인덱스 (사용하지 않으면 null)
+    private final SortedIndex<String> itemNameIndex;
+    private final SortedIndex<Integer> priceIndex;
+    private final SortedIndex<Integer> quantityIndex;
+
+    public ItemRepository() {
+        this(new MemoryItemStore(), true);
+    }
+
+    public ItemRepository(ItemStore store, boolean indexEnabled) {
+        this(store, indexEnabled, ItemJournal.NONE);
+    }
+
+    public ItemRepository(ItemStore store, boolean indexEnabled, ItemJournal journal) {
+        this.store = store;
+        this.journal = journal;
+        this.sequence = new AtomicLong(store.maxId());
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        itemNameIndex = indexEnabled ? new SortedIndex<>() : null;
+        priceIndex = indexEnabled ? new SortedIndex<>() : null;
+        quantityIndex = indexEnabled ? new SortedIndex<>() : null;
+
+        // 이미 데이터가 있는 저장 엔진이면 인덱스를 다시 만든다.
+        if (indexEnabled) {
+            store.iterator(null, false).forEachRemaining(this::addIndex);
+        }
+    }
 
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
+        item.setId(sequence.incrementAndGet());
+        item.setVersion(Item.INITIAL_VERSION);
+        long position;
+        synchronized (lockFor(item.getId())) {
+            store.put(item);
+            addIndex(item);
+            position = journal.append(item);
+        }
+        modifications.incrementAndGet();
+        journal.awaitDurable(position);
         return item;
     }
 
+    /**
+     * 여러 상품을 한 번에 저장한다. id 는 한 번에 연속으로 발급하고, 변경 기록은 마지막 기록 하나만 기다린다.
+     * (그룹 커밋이므로 건마다 save 를 부르는 것보다 fsync 대기가 훨씬 적다)
+     */
+    public List<Item> saveAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        long firstId = sequence.addAndGet(items.size()) - items.size() + 1;
+        long position = 0;
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            item.setId(firstId + i);
+            item.setVersion(Item.INITIAL_VERSION);
+            synchronized (lockFor(item.getId())) {
+                store.put(item);
+                addIndex(item);
+                position = journal.append(item);
+            }
+        }
+        modifications.incrementAndGet();
+        journal.awaitDurable(position);
+        return items;
+    }
+
     public Item findById(Long id) {
         return store.get(id);
     }
 
+    /**
+     * 지금까지의 변경 횟수, 값이 같으면 그 사이 바뀐 상품이 없다.
+     * 저장 엔진에 반영한 뒤에 늘리므로 먼저 읽은 값으로 만든 결과는 변경을 놓치더라도 다음 확인에서 다시 만들어진다.
+     */
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    public long count() {
+        return store.size();
+    }
+
+    /**
+     * 전체 상품을 새 리스트로 복사한다. 상품이 많으면 비용이 크므로 목록 화면에서는 findPage 를 사용한다.
+     */
     public List<Item> findAll() {
-        return new ArrayList<>(store.values());
+        List<Item> result = new ArrayList<>(Math.toIntExact(store.size()));
+        store.iterator(null, false).forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * cursor(이전 페이지의 마지막 id) 다음부터 size 만큼만 조회한다.
+     */
+    public ItemPage findPage(ItemPageRequest pageRequest) {
+        boolean descending = pageRequest.getDirection() == ItemPageRequest.Direction.DESC;
+        Iterator<Item> iterator = store.iterator(pageRequest.getCursor(), descending);
+
+        int size = pageRequest.getPageSize();
+        List<Item> content = new ArrayList<>(size);
+        while (content.size() < size && iterator.hasNext()) {
+            content.add(iterator.next());
+        }
+
+        Long nextCursor = iterator.hasNext() ? content.get(content.size() - 1).getId() : null;
+        return new ItemPage(content, nextCursor);
+    }
+
+    /**
+     * 복사 없이 id 순서대로 전체 상품을 흘려보낸다. (weakly consistent)
+     */
+    public Stream<Item> streamAll() {
+        Spliterator<Item> spliterator = Spliterators.spliteratorUnknownSize(store.iterator(null, false),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * 조건에 맞는 상품을 최대 limit 개 조회한다.
+     * 인덱스가 있으면 이름 prefix -> 가격 범위 -> 수량 범위 순으로 하나를 골라 후보를 찾고, 나머지 조건은 후보에서 확인한다.
+     * 인덱스를 쓰지 않는 설정이면 전체를 훑는다.
+     */
+    public List<Item> search(ItemSearchCond cond, int limit) {
+        Iterator<Long> candidates = candidateIds(cond);
+        List<Item> result = new ArrayList<>(Math.min(limit, ItemPageRequest.MAX_SIZE));
+        if (candidates == null) {
+            Iterator<Item> iterator = store.iterator(null, false);
+            while (result.size() < limit && iterator.hasNext()) {
+                Item item = iterator.next();
+                if (cond.matches(item)) {
+                    result.add(item);
+                }
+            }
+            return result;
+        }
+
+        while (result.size() < limit && candidates.hasNext()) {
+            Item item = store.get(candidates.next());
+            // 인덱스 갱신 도중일 수 있으므로 실제 값으로 다시 확인한다.
+            if (item != null && cond.matches(item)) {
+                result.add(item);
+            }
+        }
+        return result;
     }
 
     public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+        update(itemId, updateParam, null);
+    }
+
+    /**
+     * 상품의 현재 version 이 expectedVersion 과 같을 때만 수정한다. (compare-and-set, expectedVersion 이 null 이면 항상 수정)
+     * 비교와 교체는 같은 상품의 락 스트라이프 안에서 하고, 조회는 교체된 Item 을 그대로 읽으므로 기다리지 않는다.
+     * @return 수정했으면 true, 그 사이 다른 수정이 있었으면(version 불일치) false
+     */
+    public boolean update(Long itemId, Item updateParam, Integer expectedVersion) {
+        long position;
+        synchronized (lockFor(itemId)) {
+            // findById 는 하위 클래스(MeteredItemRepository)에서 따로 재므로 저장 엔진을 직접 조회한다.
+            Item before = store.get(itemId);
+            if (expectedVersion != null && expectedVersion != versionOf(before)) {
+                return false;
+            }
+            Item updated = new Item(updateParam.getItemName(), updateParam.getPrice(), updateParam.getQuantity());
+            updated.setId(before.getId());
+            updated.setVersion(versionOf(before) + 1);
+            // 기존 객체를 고치지 않고 새 객체로 교체한다. (저장 엔진에 따라 조회 결과가 복사본일 수 있다)
+            store.put(updated);
+
+            // 새 값을 먼저 넣고 이전 값을 지워서 조회 중인 스레드가 상품을 놓치지 않게 한다.
+            addIndex(updated);
+            removeIndex(before, updated);
+            position = journal.append(updated);
+        }
+        modifications.incrementAndGet();
+        journal.awaitDurable(position);
+        return true;
     }
 
     public void clearStore() {
         store.clear();
+        if (isIndexEnabled()) {
+            itemNameIndex.clear();
+            priceIndex.clear();
+            quantityIndex.clear();
+        }
+        modifications.incrementAndGet();
+    }
+
+    private Iterator<Long> candidateIds(ItemSearchCond cond) {
+        if (!isIndexEnabled()) {
+            return null;
+        }
+        if (cond.hasItemName()) {
+            return itemNameIndex.range(cond.getItemName(), cond.getItemName() + Character.MAX_VALUE);
+        }
+        if (cond.hasPriceRange()) {
+            return priceIndex.range(cond.getMinPrice(), cond.getMaxPrice());
+        }
+        if (cond.hasQuantityRange()) {
+            return quantityIndex.range(cond.getMinQuantity(), cond.getMaxQuantity());
+        }
+        return null;
+    }
+
+    private boolean isIndexEnabled() {
+        return itemNameIndex != null;
+    }
+
+    private void addIndex(Item item) {
+        if (isIndexEnabled()) {
+            itemNameIndex.add(item.getItemName(), item.getId());
+            priceIndex.add(item.getPrice(), item.getId());
+            quantityIndex.add(item.getQuantity(), item.getId());
+        }
+    }
+
+    // 바뀐 값만 인덱스에서 지운다.
+    private void removeIndex(Item before, Item after) {
+        if (!isIndexEnabled()) {
+            return;
+        }
+        if (!Objects.equals(before.getItemName(), after.getItemName())) {
+            itemNameIndex.remove(before.getItemName(), before.getId());
+        }
+        if (!Objects.equals(before.getPrice(), after.getPrice())) {
+            priceIndex.remove(before.getPrice(), before.getId());
+        }
+        if (!Objects.equals(before.getQuantity(), after.getQuantity())) {
+            quantityIndex.remove(before.getQuantity(), before.getId());
+        }
+    }
+
+    // version 을 기록하기 전에 저장된 상품은 처음 version 으로 본다.
+    private static int versionOf(Item item) {
+        return item.getVersion() == null ? Item.INITIAL_VERSION : item.getVersion();
+    }
+
+    private Object lockFor(Long itemId) {
+        return locks[(int) (itemId & (LOCK_STRIPES - 1))];
     }
 
 }
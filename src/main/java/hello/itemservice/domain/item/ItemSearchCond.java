@@ -0,0 +1,50 @@
+package hello.itemservice.domain.item;
+
+import lombok.Data;
+
+/**
+ * 상품 검색 조건 (값이 없는 조건은 무시한다)
+ * itemName 은 앞부분 일치(prefix) 검색, 가격과 수량은 범위(양쪽 포함) 검색이다.
+ */
+@Data
+public class ItemSearchCond {
+
+    private String itemName;
+    private Integer minPrice;
+    private Integer maxPrice;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+
+    public boolean hasItemName() {
+        return itemName != null && !itemName.isEmpty();
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean hasQuantityRange() {
+        return minQuantity != null || maxQuantity != null;
+    }
+
+    /**
+     * 인덱스로 찾은 후보가 실제로 모든 조건을 만족하는지 다시 확인한다.
+     */
+    public boolean matches(Item item) {
+        if (hasItemName() && (item.getItemName() == null || !item.getItemName().startsWith(itemName))) {
+            return false;
+        }
+        return inRange(item.getPrice(), minPrice, maxPrice)
+                && inRange(item.getQuantity(), minQuantity, maxQuantity);
+    }
+
+    private static boolean inRange(Integer value, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        if (value == null) {
+            return false;
+        }
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+}
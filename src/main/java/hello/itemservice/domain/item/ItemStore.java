@@ -0,0 +1,35 @@
+package hello.itemservice.domain.item;
+
+import java.util.Iterator;
+
+/**
+ * ItemRepository 아래에서 실제로 상품을 보관하는 저장 엔진
+ * id 발급, 동시 수정 제어, 보조 인덱스는 ItemRepository 가 담당하고 저장 엔진은 id 기준 저장/조회만 책임진다.
+ * 구현체는 여러 스레드에서 동시에 호출해도 안전해야 한다.
+ */
+public interface ItemStore {
+
+    /**
+     * id 가 부여된 상품을 저장한다. 같은 id 가 있으면 덮어쓴다.
+     */
+    void put(Item item);
+
+    /**
+     * 없으면 null
+     */
+    Item get(long id);
+
+    /**
+     * cursor 다음 id 부터 순서대로 조회한다. cursor 가 null 이면 처음(또는 마지막)부터 조회한다.
+     */
+    Iterator<Item> iterator(Long cursor, boolean descending);
+
+    long size();
+
+    /**
+     * 지금까지 저장된 가장 큰 id (비어 있으면 0)
+     */
+    long maxId();
+
+    void clear();
+}
@@ -0,0 +1,55 @@
+package hello.itemservice.domain.item;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기본 저장 엔진, Item 객체를 그대로 id 순 skip list 에 보관한다.
+ */
+public class MemoryItemStore implements ItemStore {
+
+    private final NavigableMap<Long, Item> store = new ConcurrentSkipListMap<>();
+    // ConcurrentSkipListMap.size() 는 전체를 훑으므로 상품 수를 따로 센다.
+    private final AtomicLong count = new AtomicLong();
+
+    @Override
+    public void put(Item item) {
+        if (store.put(item.getId(), item) == null) {
+            count.incrementAndGet();
+        }
+    }
+
+    @Override
+    public Item get(long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public Iterator<Item> iterator(Long cursor, boolean descending) {
+        NavigableMap<Long, Item> view = descending ? store.descendingMap() : store;
+        if (cursor != null) {
+            view = view.tailMap(cursor, false);
+        }
+        return view.values().iterator();
+    }
+
+    @Override
+    public long size() {
+        return count.get();
+    }
+
+    @Override
+    public long maxId() {
+        Map.Entry<Long, Item> last = store.lastEntry();
+        return last == null ? 0L : last.getKey();
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+        count.set(0);
+    }
+}
@@ -0,0 +1,123 @@
+package hello.itemservice.domain.item;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 연산마다 걸린 시간을 재는 ItemRepository (item.repository, 태그 operation=save, findById ...)
+ * 저장된 상품 수는 item.store.size 게이지로 내보낸다.
+ * Timer 는 미리 만들어 두고 nanoTime 으로 직접 기록하므로 호출마다 객체를 만들지 않는다.
+ * (분포가 필요하면 management.metrics.distribution.percentiles-histogram.item.repository=true)
+ */
+public class MeteredItemRepository extends ItemRepository {
+
+    private static final String TIMER = "item.repository";
+
+    private final Timer saveTimer;
+    private final Timer saveAllTimer;
+    private final Timer findByIdTimer;
+    private final Timer findAllTimer;
+    private final Timer findPageTimer;
+    private final Timer searchTimer;
+    private final Timer updateTimer;
+
+    public MeteredItemRepository(ItemStore store, boolean indexEnabled, ItemJournal journal, MeterRegistry registry) {
+        super(store, indexEnabled, journal);
+        saveTimer = timer(registry, "save");
+        saveAllTimer = timer(registry, "saveAll");
+        findByIdTimer = timer(registry, "findById");
+        findAllTimer = timer(registry, "findAll");
+        findPageTimer = timer(registry, "findPage");
+        searchTimer = timer(registry, "search");
+        updateTimer = timer(registry, "update");
+        Gauge.builder("item.store.size", this, ItemRepository::count)
+                .description("저장된 상품 수")
+                .register(registry);
+    }
+
+    @Override
+    public Item save(Item item) {
+        long start = System.nanoTime();
+        try {
+            return super.save(item);
+        } finally {
+            record(saveTimer, start);
+        }
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        long start = System.nanoTime();
+        try {
+            return super.saveAll(items);
+        } finally {
+            record(saveAllTimer, start);
+        }
+    }
+
+    @Override
+    public Item findById(Long id) {
+        long start = System.nanoTime();
+        try {
+            return super.findById(id);
+        } finally {
+            record(findByIdTimer, start);
+        }
+    }
+
+    @Override
+    public List<Item> findAll() {
+        long start = System.nanoTime();
+        try {
+            return super.findAll();
+        } finally {
+            record(findAllTimer, start);
+        }
+    }
+
+    @Override
+    public ItemPage findPage(ItemPageRequest pageRequest) {
+        long start = System.nanoTime();
+        try {
+            return super.findPage(pageRequest);
+        } finally {
+            record(findPageTimer, start);
+        }
+    }
+
+    @Override
+    public List<Item> search(ItemSearchCond cond, int limit) {
+        long start = System.nanoTime();
+        try {
+            return super.search(cond, limit);
+        } finally {
+            record(searchTimer, start);
+        }
+    }
+
+    // update(itemId, updateParam) 도 이 메서드를 거친다.
+    @Override
+    public boolean update(Long itemId, Item updateParam, Integer expectedVersion) {
+        long start = System.nanoTime();
+        try {
+            return super.update(itemId, updateParam, expectedVersion);
+        } finally {
+            record(updateTimer, start);
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder(TIMER)
+                .description("상품 저장소 연산 시간")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,88 @@
+package hello.itemservice.domain.item;
+
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * (key, id) 쌍을 정렬해서 보관하는 보조 인덱스
+ * 같은 key 를 가진 상품이 여러 개일 수 있으므로 id 까지 함께 정렬 키로 사용한다.
+ * 범위 조회는 O(log n) 으로 시작 위치를 찾고, 그 다음부터는 순서대로 읽기만 한다.
+ */
+class SortedIndex<K extends Comparable<? super K>> {
+
+    private final NavigableSet<Entry<K>> entries = new ConcurrentSkipListSet<>();
+
+    void add(K key, Long id) {
+        if (key != null) {
+            entries.add(new Entry<>(key, id));
+        }
+    }
+
+    void remove(K key, Long id) {
+        if (key != null) {
+            entries.remove(new Entry<>(key, id));
+        }
+    }
+
+    /**
+     * from ~ to (양쪽 포함) 범위의 id 를 key 순서대로 반환한다. null 이면 해당 방향으로 제한이 없다.
+     */
+    Iterator<Long> range(K from, K to) {
+        NavigableSet<Entry<K>> view = entries;
+        if (from != null) {
+            view = view.tailSet(new Entry<>(from, Long.MIN_VALUE), true);
+        }
+        if (to != null) {
+            view = view.headSet(new Entry<>(to, Long.MAX_VALUE), true);
+        }
+
+        Iterator<Entry<K>> iterator = view.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Long next() {
+                return iterator.next().id;
+            }
+        };
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private static final class Entry<K extends Comparable<? super K>> implements Comparable<Entry<K>> {
+
+        private final K key;
+        private final long id;
+
+        private Entry(K key, long id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry<K> other) {
+            int result = key.compareTo(other.key);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?> other = (Entry<?>) o;
+            return id == other.id && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + Long.hashCode(id);
+        }
+    }
+}
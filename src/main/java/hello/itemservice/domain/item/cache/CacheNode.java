@@ -0,0 +1,97 @@
+package hello.itemservice.domain.item.cache;
+
+import hello.itemservice.domain.item.Item;
+
+/**
+ * 캐시 항목, 제거 정책의 연결 리스트(NodeList)에 직접 연결된다.
+ * value, expiresAt 은 락 없이 읽으므로 volatile, 나머지는 캐시 락 안에서만 바뀐다.
+ */
+final class CacheNode {
+
+    static final int NONE = 0;
+    static final int WINDOW = 1;
+    static final int PROBATION = 2;
+    static final int PROTECTED = 3;
+
+    final long key;
+    volatile Item value;
+    volatile long expiresAt;
+
+    // 어느 리스트에 있는지 (NONE 이면 제거된 항목)
+    int queue = NONE;
+    CacheNode prev;
+    CacheNode next;
+
+    CacheNode(long key, Item value, long expiresAt) {
+        this.key = key;
+        this.value = value;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * 오래된 순서로 항목을 잇는 리스트 (앞이 가장 오래된 항목)
+     */
+    static final class NodeList {
+
+        private CacheNode head;
+        private CacheNode tail;
+        private int size;
+
+        void addLast(CacheNode node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        void remove(CacheNode node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToLast(CacheNode node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        CacheNode peekFirst() {
+            return head;
+        }
+
+        CacheNode pollFirst() {
+            CacheNode first = head;
+            if (first != null) {
+                remove(first);
+            }
+            return first;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
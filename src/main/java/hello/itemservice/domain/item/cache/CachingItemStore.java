@@ -0,0 +1,215 @@
+package hello.itemservice.domain.item.cache;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemStore;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 저장 엔진 앞에 두는 상품 단위 read-through 캐시 (item.cache.*)
+ * get 은 캐시에 없을 때만 저장 엔진에서 읽어 캐시에 넣는다. 목록/훑기(iterator)는 캐시를 거치지 않는다.
+ * ItemRepository 의 모든 변경(save, saveAll, update, clearStore)은 put/clear 를 거치므로, 여기서 캐시도 함께 맞춘다.
+ * 컬럼 저장 엔진이나 스냅샷처럼 조회할 때마다 Item 을 새로 만드는 저장 엔진에서 자주 보는 상품의 조회 비용을 줄인다.
+ *
+ * 동시성
+ *  - 조회는 ConcurrentHashMap 에서 락 없이 한다. 접근 기록(제거 정책 갱신)은 tryLock 으로 하고, 락이 바쁘면 건너뛴다.
+ *    (정책이 조금 부정확해지는 대신 자주 보는 상품 조회가 서로 기다리지 않는다)
+ *  - 항목 추가/제거와 정책 갱신은 락 하나 안에서 한다.
+ *  - 캐시에 없어서 읽어 온 값이 그 사이 수정된 값보다 오래됐을 수 있으므로, id 별 변경 세대(generations)가
+ *    읽기 전과 같을 때만 캐시에 넣는다. put 은 저장 엔진에 쓴 뒤 세대를 올리고 캐시에 있는 값을 새 값으로 바꾼다.
+ *
+ * 캐시에 있는 Item 은 여러 요청이 함께 보므로, 캐시에서 꺼낸 값은 복사본을 돌려준다.
+ */
+public class CachingItemStore implements ItemStore {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ItemStore delegate;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    private final ConcurrentHashMap<Long, CacheNode> nodes = new ConcurrentHashMap<>();
+    private final EvictionPolicy.Policy policy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param ttl 캐시에 넣은(또는 바꾼) 뒤 이 시간이 지나면 저장 엔진에서 다시 읽는다. 0 이면 만료하지 않는다.
+     */
+    public CachingItemStore(ItemStore delegate, int maximumSize, EvictionPolicy evictionPolicy, Duration ttl) {
+        this(delegate, maximumSize, evictionPolicy, ttl, System::nanoTime);
+    }
+
+    CachingItemStore(ItemStore delegate, int maximumSize, EvictionPolicy evictionPolicy, Duration ttl, LongSupplier ticker) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize 는 1 이상이어야 합니다. maximumSize=" + maximumSize);
+        }
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        this.policy = evictionPolicy.create(maximumSize);
+    }
+
+    @Override
+    public void put(Item item) {
+        delegate.put(item);
+        long id = item.getId();
+        generations.incrementAndGet(stripe(id));
+
+        // 읽어 온 값을 넣는 중인 요청이 있을 수 있으므로 락 안에서 확인한다. 없는 상품은 새로 넣지 않는다. (대량 등록이 캐시를 밀어내지 않게)
+        lock.lock();
+        try {
+            CacheNode node = nodes.get(id);
+            if (node != null) {
+                node.value = copyOf(item);
+                node.expiresAt = expiresAt();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Item get(long id) {
+        CacheNode node = nodes.get(id);
+        if (node != null && !isExpired(node)) {
+            hits.increment();
+            recordAccess(node);
+            return copyOf(node.value);
+        }
+
+        misses.increment();
+        long generation = generations.get(stripe(id));
+        Item item = delegate.get(id);
+        if (item != null) {
+            load(id, copyOf(item), generation);
+        }
+        return item;
+    }
+
+    @Override
+    public Iterator<Item> iterator(Long cursor, boolean descending) {
+        return delegate.iterator(cursor, descending);
+    }
+
+    @Override
+    public long size() {
+        return delegate.size();
+    }
+
+    @Override
+    public long maxId() {
+        return delegate.maxId();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        lock.lock();
+        try {
+            nodes.clear();
+            policy.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 지금 캐시에 있는 상품 수 (저장된 상품 수는 size())
+     */
+    public long cachedCount() {
+        return nodes.size();
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    private void load(long id, Item item, long generation) {
+        lock.lock();
+        try {
+            // 읽는 사이 수정(또는 삭제)이 있었으면 읽은 값이 오래됐을 수 있으므로 넣지 않는다.
+            if (generations.get(stripe(id)) != generation) {
+                return;
+            }
+            CacheNode node = nodes.get(id);
+            if (node != null) {
+                // 만료된 항목이거나 다른 요청이 먼저 넣었다. 자리는 그대로 두고 값만 바꾼다.
+                node.value = item;
+                node.expiresAt = expiresAt();
+                policy.recordAccess(node);
+                return;
+            }
+
+            node = new CacheNode(id, item, expiresAt());
+            nodes.put(id, node);
+            CacheNode victim = policy.add(node);
+            if (victim != null) {
+                nodes.remove(victim.key, victim);
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordAccess(CacheNode node) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            // 락을 기다리는 사이 버려진 항목일 수 있다.
+            if (nodes.get(node.key) == node) {
+                policy.recordAccess(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isExpired(CacheNode node) {
+        return ttlNanos > 0 && ticker.getAsLong() - node.expiresAt > 0;
+    }
+
+    private long expiresAt() {
+        return ttlNanos > 0 ? ticker.getAsLong() + ttlNanos : 0;
+    }
+
+    private static int stripe(long id) {
+        return (int) (id & (GENERATION_STRIPES - 1));
+    }
+
+    private static Item copyOf(Item item) {
+        Item copy = new Item(item.getItemName(), item.getPrice(), item.getQuantity());
+        copy.setId(item.getId());
+        copy.setVersion(item.getVersion());
+        return copy;
+    }
+}
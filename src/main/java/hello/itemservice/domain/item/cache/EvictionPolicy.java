@@ -0,0 +1,48 @@
+package hello.itemservice.domain.item.cache;
+
+/**
+ * 캐시가 가득 찼을 때 어떤 항목을 버릴지 정하는 정책 (item.cache.policy)
+ *  - LRU        : 가장 오래 쓰지 않은 항목을 버린다. 한 번씩만 읽는 전체 훑기가 지나가면 자주 쓰는 항목도 밀려난다.
+ *  - W_TINY_LFU : 새 항목은 작은 LRU 창(window)에 먼저 넣고, 창에서 밀려난 항목은 접근 빈도가 더 높을 때만 본 영역에 들인다.
+ *                 자주 쓰는 상품이 훑기에 밀려나지 않는다. (기본값)
+ */
+public enum EvictionPolicy {
+
+    LRU,
+    W_TINY_LFU;
+
+    /**
+     * lru, w-tinylfu (대소문자, -, _ 구분 없음)
+     */
+    public static EvictionPolicy of(String value) {
+        String normalized = value.replace("-", "").replace("_", "");
+        for (EvictionPolicy policy : values()) {
+            if (policy.name().replace("_", "").equalsIgnoreCase(normalized)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 item.cache.policy 입니다. policy=" + value);
+    }
+
+    Policy create(int maximumSize) {
+        return this == LRU ? new LruPolicy(maximumSize) : new WindowTinyLfuPolicy(maximumSize);
+    }
+
+    /**
+     * 캐시 락 안에서만 호출된다.
+     */
+    interface Policy {
+
+        /**
+         * 새 항목을 넣는다.
+         * @return 크기를 넘어서 버린 항목 (새 항목 자신일 수도 있다), 없으면 null
+         */
+        CacheNode add(CacheNode node);
+
+        void recordAccess(CacheNode node);
+
+        void remove(CacheNode node);
+
+        void clear();
+    }
+}
@@ -0,0 +1,80 @@
+package hello.itemservice.domain.item.cache;
+
+import java.util.Arrays;
+
+/**
+ * 상품 id 별 최근 접근 빈도를 대략적으로 세는 Count-Min sketch (W-TinyLFU 의 입장 판단용)
+ * long 하나에 4 bit 카운터 16개를 담고, id 마다 서로 다른 해시로 고른 카운터 4개 중 최솟값을 빈도로 본다.
+ * 캐시 크기의 10배만큼 센 뒤에는 모든 카운터를 반으로 줄여서 예전 인기 항목이 계속 남지 않게 한다. (aging)
+ * 캐시 락 안에서만 호출된다.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int size = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 30)) - 1) << 1;
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = (int) Math.min(10L * maximumSize, Integer.MAX_VALUE);
+    }
+
+    int frequency(long key) {
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long hash = hash(key, i);
+            frequency = Math.min(frequency, (int) ((table[index(hash)] >>> shift(hash)) & MAX_COUNT));
+        }
+        return frequency;
+    }
+
+    void increment(long key) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long hash = hash(key, i);
+            int index = index(hash);
+            int shift = shift(hash);
+            if (((table[index] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    void clear() {
+        Arrays.fill(table, 0L);
+        additions = 0;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private static long hash(long key, int i) {
+        long hash = (key + SEEDS[i]) * SEEDS[i];
+        return hash ^ (hash >>> 29);
+    }
+
+    private int index(long hash) {
+        return (int) (hash >>> 32) & tableMask;
+    }
+
+    // long 안의 카운터 16개 중 하나 (4 bit 단위)
+    private static int shift(long hash) {
+        return ((int) hash & 15) << 2;
+    }
+}
@@ -0,0 +1,42 @@
+package hello.itemservice.domain.item.cache;
+
+/**
+ * 리스트 하나에 접근 순서대로 두고, 가득 차면 가장 앞(가장 오래 쓰지 않은) 항목을 버린다.
+ */
+final class LruPolicy implements EvictionPolicy.Policy {
+
+    private final int maximumSize;
+    private final CacheNode.NodeList nodes = new CacheNode.NodeList();
+
+    LruPolicy(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public CacheNode add(CacheNode node) {
+        node.queue = CacheNode.WINDOW;
+        nodes.addLast(node);
+        if (nodes.size() <= maximumSize) {
+            return null;
+        }
+        CacheNode victim = nodes.pollFirst();
+        victim.queue = CacheNode.NONE;
+        return victim;
+    }
+
+    @Override
+    public void recordAccess(CacheNode node) {
+        nodes.moveToLast(node);
+    }
+
+    @Override
+    public void remove(CacheNode node) {
+        nodes.remove(node);
+        node.queue = CacheNode.NONE;
+    }
+
+    @Override
+    public void clear() {
+        nodes.clear();
+    }
+}
@@ -0,0 +1,103 @@
+package hello.itemservice.domain.item.cache;
+
+/**
+ * W-TinyLFU 제거 정책
+ *  - window    : 새 항목이 먼저 들어가는 작은 LRU (전체의 1%), 갑자기 몰리는 새 상품을 받아 준다.
+ *  - probation : window 에서 밀려난 항목이 들어가는 본 영역, 여기서 다시 읽히면 protected 로 올라간다.
+ *  - protected : 두 번 이상 읽힌 항목 (본 영역의 80%), 넘치면 오래된 항목부터 probation 으로 내린다.
+ * 가득 차면 window 에서 밀려난 후보와 probation 의 가장 오래된 항목 중 접근 빈도(FrequencySketch)가 낮은 쪽을 버린다.
+ * -> 한 번씩만 읽히는 전체 훑기나 일회성 조회가 자주 쓰는 상품을 밀어내지 못한다.
+ * window 크기는 고정이다. (접근 패턴에 따라 크기를 조절하는 hill climbing 은 하지 않는다)
+ */
+final class WindowTinyLfuPolicy implements EvictionPolicy.Policy {
+
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+
+    private final CacheNode.NodeList window = new CacheNode.NodeList();
+    private final CacheNode.NodeList probation = new CacheNode.NodeList();
+    private final CacheNode.NodeList protectedNodes = new CacheNode.NodeList();
+    private final FrequencySketch sketch;
+
+    WindowTinyLfuPolicy(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * 8 / 10;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public CacheNode add(CacheNode node) {
+        sketch.increment(node.key);
+        node.queue = CacheNode.WINDOW;
+        window.addLast(node);
+        if (window.size() <= windowMaximum) {
+            return null;
+        }
+
+        CacheNode candidate = window.pollFirst();
+        candidate.queue = CacheNode.PROBATION;
+        probation.addLast(candidate);
+        if (window.size() + probation.size() + protectedNodes.size() <= maximumSize) {
+            return null;
+        }
+
+        // 후보가 방금 probation 끝에 들어갔으므로 맨 앞은 후보가 아니면 가장 오래된 기존 항목이다.
+        CacheNode victim = probation.peekFirst();
+        if (victim != candidate && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            candidate = victim;
+        }
+        remove(candidate);
+        return candidate;
+    }
+
+    @Override
+    public void recordAccess(CacheNode node) {
+        sketch.increment(node.key);
+        switch (node.queue) {
+            case CacheNode.WINDOW:
+                window.moveToLast(node);
+                break;
+            case CacheNode.PROBATION:
+                probation.remove(node);
+                node.queue = CacheNode.PROTECTED;
+                protectedNodes.addLast(node);
+                if (protectedNodes.size() > protectedMaximum) {
+                    CacheNode demoted = protectedNodes.pollFirst();
+                    demoted.queue = CacheNode.PROBATION;
+                    probation.addLast(demoted);
+                }
+                break;
+            case CacheNode.PROTECTED:
+                protectedNodes.moveToLast(node);
+                break;
+            default:
+        }
+    }
+
+    @Override
+    public void remove(CacheNode node) {
+        switch (node.queue) {
+            case CacheNode.WINDOW:
+                window.remove(node);
+                break;
+            case CacheNode.PROBATION:
+                probation.remove(node);
+                break;
+            case CacheNode.PROTECTED:
+                protectedNodes.remove(node);
+                break;
+            default:
+        }
+        node.queue = CacheNode.NONE;
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedNodes.clear();
+        sketch.clear();
+    }
+}
@@ -0,0 +1,138 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.ItemJournal;
+import hello.itemservice.domain.item.ItemStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 저장 엔진의 영속화 담당
+ *
+ * 시작할 때: 스냅샷을 메모리 매핑으로 열고, 그 이후의 로그 세그먼트를 순서대로 재생해서 저장 엔진을 복구한다.
+ * 스냅샷은 읽어 들이지 않고 매핑만 하므로 상품 수와 관계없이 시작이 빠르다. 이후 변경분만 전달받은 저장 엔진에 쌓인다.
+ * -> ItemRepository 는 전달한 저장 엔진이 아니라 store() 를 사용해야 한다.
+ * 보조 인덱스를 켜면 시작할 때 전체 상품을 훑어야 하므로, 빠른 시작이 필요하면 item.index.enabled=false 로 둔다.
+ * 실행 중에는: ItemRepository 가 변경 내용을 로그(journal)에 남기고, 주기적으로 스냅샷을 찍어 오래된 로그를 지운다.
+ *
+ * 로그 기록은 상품의 전체 상태를 담고 있어서 여러 번 재생해도 결과가 같다.
+ * 그래서 스냅샷을 찍는 동안 쓰기를 멈추지 않아도 된다. (스냅샷에 섞여 들어간 최신 값은 이후 로그 재생으로 다시 맞춰진다)
+ */
+@Slf4j
+public class ItemPersistence implements Closeable {
+
+    private static final String SNAPSHOT_FILE = "items.snapshot";
+
+    private final Path directory;
+    // recover() 에서 정한다. (스냅샷이 있으면 스냅샷 + 변경분, 없으면 전달받은 저장 엔진 그대로)
+    private ItemStore store;
+    private final ItemWriteAheadLog writeAheadLog;
+    private final ScheduledExecutorService scheduler;
+
+    public ItemPersistence(ItemStore store, Path directory, boolean fsync, Duration snapshotInterval) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+
+        long nextSegment = recover(store);
+        this.writeAheadLog = new ItemWriteAheadLog(directory, nextSegment, fsync);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "item-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 복구한 상품 저장 엔진
+     */
+    public ItemStore store() {
+        return store;
+    }
+
+    public ItemJournal journal() {
+        return writeAheadLog;
+    }
+
+    /**
+     * 로그를 다음 세그먼트로 넘긴 뒤 저장 엔진 전체를 스냅샷으로 쓰고, 스냅샷에 반영된 로그를 지운다.
+     */
+    public synchronized void snapshot() throws IOException {
+        long start = System.currentTimeMillis();
+        long segment = writeAheadLog.rotate();
+
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        long count = ItemSnapshot.write(temp, store.iterator(null, false), segment);
+        Files.move(temp, snapshotPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        ItemWriteAheadLog.deleteSegmentsBefore(directory, segment);
+
+        log.info("상품 스냅샷 저장 count={}, segment={}, {}ms", count, segment, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        writeAheadLog.close();
+    }
+
+    private long recover(ItemStore changes) throws IOException {
+        long start = System.currentTimeMillis();
+        long fromSegment = 1;
+        store = changes;
+        if (Files.exists(snapshotPath())) {
+            fromSegment = openSnapshot(changes);
+        }
+        long replayed = ItemWriteAheadLog.replay(directory, fromSegment, store::put);
+
+        // 쓰다 만 기록이 있을 수 있으므로 기존 세그먼트에 이어 쓰지 않고 항상 새 세그먼트를 연다.
+        List<Long> segments = ItemWriteAheadLog.listSegments(directory);
+        long nextSegment = segments.isEmpty() ? fromSegment : Math.max(fromSegment, segments.get(segments.size() - 1) + 1);
+
+        log.info("상품 저장소 복구 items={}, replayed={}, {}ms", store.size(), replayed, System.currentTimeMillis() - start);
+        return nextSegment;
+    }
+
+    /**
+     * @return 스냅샷 이후 재생해야 하는 첫 로그 세그먼트 번호
+     */
+    private long openSnapshot(ItemStore changes) throws IOException {
+        ItemSnapshot.Header header;
+        try (FileChannel channel = FileChannel.open(snapshotPath(), StandardOpenOption.READ)) {
+            header = ItemSnapshot.readHeader(channel);
+        }
+
+        // 이전 형식은 매핑할 수 없으므로 읽어서 넣는다. 다음 스냅샷부터 새 형식으로 저장된다.
+        if (header.version == ItemSnapshot.LEGACY_VERSION) {
+            return ItemSnapshot.readLegacy(snapshotPath(), changes::put);
+        }
+
+        MappedItemSnapshot snapshot = MappedItemSnapshot.open(snapshotPath());
+        store = new SnapshotItemStore(snapshot, changes);
+        return snapshot.walSegment();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.error("상품 스냅샷 저장 실패", e);
+        }
+    }
+
+    private Path snapshotPath() {
+        return directory.resolve(SNAPSHOT_FILE);
+    }
+}
@@ -0,0 +1,97 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.Item;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 로그와 스냅샷에서 함께 쓰는 상품 한 건의 바이너리 형식
+ * [id:long][flags:byte][price:int][quantity:int][nameLength:int][name:UTF-8]([version:int] flags 에 HAS_VERSION 이 있을 때만)
+ * version 이 없는 이전 기록은 version 1 로 읽는다.
+ */
+final class ItemRecordCodec {
+
+    static final byte NULL_NAME = 1;
+    static final byte NULL_PRICE = 1 << 1;
+    static final byte NULL_QUANTITY = 1 << 2;
+    static final byte HAS_VERSION = 1 << 3;
+
+    static final int FIXED_SIZE = 8 + 1 + 4 + 4 + 4;
+
+    private ItemRecordCodec() {
+    }
+
+    static byte[] nameBytes(Item item) {
+        return item.getItemName() == null ? null : item.getItemName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int sizeOf(Item item, byte[] name) {
+        return FIXED_SIZE + (name == null ? 0 : name.length) + (item.getVersion() == null ? 0 : 4);
+    }
+
+    static byte flagsOf(Item item, byte[] name) {
+        byte flags = 0;
+        if (name == null) {
+            flags |= NULL_NAME;
+        }
+        if (item.getPrice() == null) {
+            flags |= NULL_PRICE;
+        }
+        if (item.getQuantity() == null) {
+            flags |= NULL_QUANTITY;
+        }
+        if (item.getVersion() != null) {
+            flags |= HAS_VERSION;
+        }
+        return flags;
+    }
+
+    static void write(ByteBuffer buffer, Item item, byte[] name) {
+        buffer.putLong(item.getId());
+        buffer.put(flagsOf(item, name));
+        buffer.putInt(item.getPrice() == null ? 0 : item.getPrice());
+        buffer.putInt(item.getQuantity() == null ? 0 : item.getQuantity());
+        buffer.putInt(name == null ? 0 : name.length);
+        if (name != null) {
+            buffer.put(name);
+        }
+        if (item.getVersion() != null) {
+            buffer.putInt(item.getVersion());
+        }
+    }
+
+    static Item read(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        byte flags = buffer.get();
+        int price = buffer.getInt();
+        int quantity = buffer.getInt();
+        byte[] name = new byte[buffer.getInt()];
+        buffer.get(name);
+        int version = (flags & HAS_VERSION) != 0 ? buffer.getInt() : Item.INITIAL_VERSION;
+        return toItem(id, flags, price, quantity, name, version);
+    }
+
+    static Item read(DataInput in) throws IOException {
+        long id = in.readLong();
+        byte flags = in.readByte();
+        int price = in.readInt();
+        int quantity = in.readInt();
+        byte[] name = new byte[in.readInt()];
+        in.readFully(name);
+        int version = (flags & HAS_VERSION) != 0 ? in.readInt() : Item.INITIAL_VERSION;
+        return toItem(id, flags, price, quantity, name, version);
+    }
+
+    static Item toItem(long id, byte flags, int price, int quantity, byte[] name, int version) {
+        Item item = new Item(
+                (flags & NULL_NAME) == 0 ? new String(name, StandardCharsets.UTF_8) : null,
+                (flags & NULL_PRICE) == 0 ? price : null,
+                (flags & NULL_QUANTITY) == 0 ? quantity : null);
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+}
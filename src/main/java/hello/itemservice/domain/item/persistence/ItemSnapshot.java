@@ -0,0 +1,219 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.Item;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * 상품 전체를 담는 바이너리 스냅샷 파일
+ *
+ * 버전 3 (현재, 메모리 매핑용 MappedItemSnapshot 으로 연다)
+ * [header: magic:int, version:int, walSegment:long, count:long, maxId:long, namesOffset:long, versionsOffset:long]
+ * [entries: id 오름차순 고정 길이 32 byte * count]
+ *   id:long, nameOffset:long, price:int, quantity:int, nameLength:int, flags:byte, padding:3
+ * [versions: 상품 version, entries 와 같은 순서의 int * count]
+ * [names: UTF-8 상품명을 이어 붙인 영역]
+ *
+ * 버전 2 : 버전 3 에서 versions 영역이 없는 형식 (versionsOffset 자리는 0), 모든 상품을 version 1 로 읽는다.
+ *
+ * 버전 1 (이전 형식, 시작할 때 순서대로 읽어서 저장 엔진에 넣는다)
+ * [magic:int][version:int][walSegment:long] ([1:byte][record])* [0:byte][count:long]
+ *
+ * walSegment : 이 스냅샷 이후 재생해야 하는 첫 로그 세그먼트 번호
+ */
+final class ItemSnapshot {
+
+    static final int MAGIC = 0x49544D53; // "ITMS"
+    static final int VERSION = 3;
+    static final int UNVERSIONED_VERSION = 2;
+    static final int LEGACY_VERSION = 1;
+    static final int HEADER_SIZE = 48;
+    static final int ENTRY_SIZE = 32;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private ItemSnapshot() {
+    }
+
+    static final class Header {
+        final int version;
+        final long walSegment;
+        final long count;
+        final long maxId;
+        final long namesOffset;
+        final long versionsOffset; // versions 영역이 없으면 0
+
+        private Header(int version, long walSegment, long count, long maxId, long namesOffset, long versionsOffset) {
+            this.version = version;
+            this.walSegment = walSegment;
+            this.count = count;
+            this.maxId = maxId;
+            this.namesOffset = namesOffset;
+            this.versionsOffset = versionsOffset;
+        }
+    }
+
+    /**
+     * 버전 3 형식으로 쓰고 fsync 까지 한다. items 는 id 오름차순이어야 한다.
+     * 고정 길이 항목은 본 파일에, version 과 상품명은 임시 파일에 따로 모았다가 마지막에 transferTo 로 이어 붙인다.
+     * @return 기록한 상품 수
+     */
+    static long write(Path file, Iterator<Item> items, long walSegment) throws IOException {
+        Path namesFile = Paths.get(file + ".names");
+        Path versionsFile = Paths.get(file + ".versions");
+        long count = 0;
+        long maxId = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             FileChannel namesChannel = FileChannel.open(namesFile, StandardOpenOption.CREATE,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             FileChannel versionsChannel = FileChannel.open(versionsFile, StandardOpenOption.CREATE,
+                     StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer entries = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            ByteBuffer versions = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            ByteBuffer names = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            channel.position(HEADER_SIZE);
+            long namesSize = 0;
+
+            while (items.hasNext()) {
+                Item item = items.next();
+                if (item.getId() <= maxId) {
+                    throw new IllegalArgumentException("스냅샷은 id 오름차순으로 써야 합니다. id=" + item.getId());
+                }
+                byte[] name = ItemRecordCodec.nameBytes(item);
+
+                if (entries.remaining() < ENTRY_SIZE) {
+                    drain(channel, entries);
+                }
+                entries.putLong(item.getId());
+                entries.putLong(namesSize);
+                entries.putInt(item.getPrice() == null ? 0 : item.getPrice());
+                entries.putInt(item.getQuantity() == null ? 0 : item.getQuantity());
+                entries.putInt(name == null ? 0 : name.length);
+                entries.put(ItemRecordCodec.flagsOf(item, name));
+                entries.put((byte) 0).put((byte) 0).put((byte) 0);
+
+                if (versions.remaining() < 4) {
+                    drain(versionsChannel, versions);
+                }
+                versions.putInt(item.getVersion() == null ? Item.INITIAL_VERSION : item.getVersion());
+
+                if (name != null) {
+                    if (names.remaining() < name.length) {
+                        drain(namesChannel, names);
+                    }
+                    if (name.length > names.capacity()) {
+                        writeFully(namesChannel, ByteBuffer.wrap(name));
+                    } else {
+                        names.put(name);
+                    }
+                    namesSize += name.length;
+                }
+
+                maxId = item.getId();
+                count++;
+            }
+            drain(channel, entries);
+            drain(versionsChannel, versions);
+            drain(namesChannel, names);
+
+            long versionsOffset = HEADER_SIZE + count * ENTRY_SIZE;
+            long namesOffset = versionsOffset + count * 4;
+            transferAll(versionsChannel, count * 4, channel);
+            transferAll(namesChannel, namesSize, channel);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(walSegment).putLong(count).putLong(maxId).putLong(namesOffset).putLong(versionsOffset);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        } finally {
+            Files.deleteIfExists(namesFile);
+            Files.deleteIfExists(versionsFile);
+        }
+        return count;
+    }
+
+    static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        if (buffer.remaining() < 16 || buffer.getInt() != MAGIC) {
+            throw new IOException("상품 스냅샷 형식이 아닙니다.");
+        }
+        int version = buffer.getInt();
+        long walSegment = buffer.getLong();
+        if (version == LEGACY_VERSION) {
+            return new Header(version, walSegment, -1, -1, -1, 0);
+        }
+        if ((version != VERSION && version != UNVERSIONED_VERSION) || buffer.remaining() < HEADER_SIZE - 16) {
+            throw new IOException("지원하지 않는 상품 스냅샷 버전입니다. version=" + version);
+        }
+        long count = buffer.getLong();
+        long maxId = buffer.getLong();
+        long namesOffset = buffer.getLong();
+        long versionsOffset = version == VERSION ? buffer.getLong() : 0;
+        return new Header(version, walSegment, count, maxId, namesOffset, versionsOffset);
+    }
+
+    /**
+     * 버전 1 스냅샷의 상품을 순서대로 consumer 에 넘긴다.
+     * @return 이후 재생해야 하는 첫 로그 세그먼트 번호
+     */
+    static long readLegacy(Path file, Consumer<Item> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != LEGACY_VERSION) {
+                throw new IOException("상품 스냅샷 형식이 아닙니다. file=" + file);
+            }
+            long walSegment = in.readLong();
+
+            long count = 0;
+            while (in.readByte() == 1) {
+                consumer.accept(ItemRecordCodec.read(in));
+                count++;
+            }
+            long expected = in.readLong();
+            if (count != expected) {
+                throw new IOException("상품 스냅샷이 손상되었습니다. file=" + file + ", expected=" + expected + ", read=" + count);
+            }
+            return walSegment;
+        }
+    }
+
+    private static void transferAll(FileChannel source, long size, FileChannel target) throws IOException {
+        long transferred = 0;
+        while (transferred < size) {
+            transferred += source.transferTo(transferred, size - transferred, target);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemJournal;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 상품 변경 기록 파일 (append-only write-ahead log)
+ *
+ * 그룹 커밋: 요청 스레드는 기록을 대기열에 넣기만 하고, 전용 스레드 하나가 대기열을 통째로 가져가
+ * 한 번에 쓰고 한 번만 fsync 한다. 동시에 들어온 요청이 많을수록 fsync 한 번에 더 많은 기록이 묶인다.
+ *
+ * 파일은 세그먼트(wal-00000000000000000001.log ...) 단위로 나누고, 스냅샷을 찍을 때 다음 세그먼트로 넘어간다.
+ * 기록 형식: [payloadLength:int][crc32:int][payload(ItemRecordCodec)]
+ */
+@Slf4j
+public class ItemWriteAheadLog implements ItemJournal, Closeable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_SIZE = 8;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int MAX_RECORD_SIZE = 1 << 24;
+
+    private final Path directory;
+    private final boolean fsync;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    // 아래 필드는 lock 으로 보호한다.
+    private List<byte[]> pending = new ArrayList<>();
+    private long appendedPosition; // 대기열에 들어간 마지막 위치
+    private long takenPosition;    // 기록 스레드가 가져간 마지막 위치
+    private long durablePosition;  // 디스크 기록이 끝난 마지막 위치
+    private boolean rotationRequested;
+    private long rotationPosition;
+    private boolean closed;
+    private IOException failure;
+
+    // 아래 필드는 기록 스레드만 사용한다.
+    private FileChannel channel;
+    private long segment;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+    private final Thread flusher;
+
+    public ItemWriteAheadLog(Path directory, long segment, boolean fsync) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.fsync = fsync;
+        this.segment = segment;
+        this.channel = openSegment(segment);
+
+        flusher = new Thread(this::flushLoop, "item-wal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public long append(Item item) {
+        byte[] name = ItemRecordCodec.nameBytes(item);
+        byte[] record = new byte[HEADER_SIZE + ItemRecordCodec.sizeOf(item, name)];
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.position(HEADER_SIZE);
+        ItemRecordCodec.write(buffer, item, name);
+
+        CRC32 crc = new CRC32();
+        crc.update(record, HEADER_SIZE, record.length - HEADER_SIZE);
+        buffer.putInt(0, record.length - HEADER_SIZE);
+        buffer.putInt(4, (int) crc.getValue());
+
+        lock.lock();
+        try {
+            checkWritable();
+            pending.add(record);
+            workAvailable.signal();
+            return ++appendedPosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long position) {
+        lock.lock();
+        try {
+            while (durablePosition < position) {
+                if (failure != null) {
+                    throw new UncheckedIOException("상품 변경 기록에 실패했습니다.", failure);
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금까지 들어온 기록을 현재 세그먼트에 모두 쓰고 다음 세그먼트로 넘어간다.
+     * @return 새 세그먼트 번호 (이 번호 이후의 세그먼트만 재생하면 된다)
+     */
+    public long rotate() throws IOException {
+        lock.lock();
+        try {
+            checkWritable();
+            rotationRequested = true;
+            rotationPosition = appendedPosition;
+            workAvailable.signal();
+            while (rotationRequested) {
+                if (failure != null) {
+                    throw failure;
+                }
+                flushed.awaitUninterruptibly();
+            }
+            return segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기열에 남은 기록을 모두 쓰고 파일을 닫는다.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void checkWritable() {
+        if (closed) {
+            throw new IllegalStateException("이미 닫힌 로그입니다.");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("상품 변경 기록에 실패했습니다.", failure);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<byte[]> batch;
+            long batchEnd;
+            boolean rotate;
+
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !rotationRequested && !closed) {
+                    workAvailable.awaitUninterruptibly();
+                }
+                if (pending.isEmpty() && !rotationRequested) {
+                    return; // 닫혔고 남은 기록도 없다.
+                }
+
+                // 회전 요청이 있으면 요청 시점까지의 기록만 현재 세그먼트에 쓴다.
+                int count = rotationRequested ? (int) (rotationPosition - takenPosition) : pending.size();
+                if (count == pending.size()) {
+                    batch = pending;
+                    pending = new ArrayList<>();
+                } else {
+                    batch = new ArrayList<>(pending.subList(0, count));
+                    pending.subList(0, count).clear();
+                }
+                takenPosition += count;
+                batchEnd = takenPosition;
+                rotate = rotationRequested;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                write(batch);
+                if (rotate) {
+                    FileChannel next = openSegment(segment + 1);
+                    channel.close();
+                    channel = next;
+                    segment++;
+                }
+            } catch (IOException e) {
+                log.error("상품 변경 기록 실패 segment={}", segment, e);
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durablePosition = batchEnd;
+                    if (rotate) {
+                        rotationRequested = false;
+                    }
+                }
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            if (error != null) {
+                return;
+            }
+        }
+    }
+
+    private void write(List<byte[]> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        writeBuffer.clear();
+        for (byte[] record : batch) {
+            if (writeBuffer.remaining() < record.length) {
+                drain();
+            }
+            if (record.length > writeBuffer.capacity()) {
+                writeFully(ByteBuffer.wrap(record));
+            } else {
+                writeBuffer.put(record);
+            }
+        }
+        drain();
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    private void drain() throws IOException {
+        writeBuffer.flip();
+        writeFully(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private FileChannel openSegment(long segment) throws IOException {
+        return FileChannel.open(segmentPath(directory, segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * 디렉토리에 있는 세그먼트 번호 (오름차순)
+     */
+    public static List<Long> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * fromSegment 이상의 세그먼트를 순서대로 읽어 consumer 에 넘긴다.
+     * 마지막 기록이 쓰다 만 상태(길이 부족, crc 불일치)면 거기서 멈춘다.
+     * @return 재생한 기록 수
+     */
+    public static long replay(Path directory, long fromSegment, Consumer<Item> consumer) throws IOException {
+        long count = 0;
+        for (long segment : listSegments(directory)) {
+            if (segment < fromSegment) {
+                continue;
+            }
+            count += replaySegment(segmentPath(directory, segment), consumer);
+        }
+        return count;
+    }
+
+    private static long replaySegment(Path path, Consumer<Item> consumer) throws IOException {
+        long count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            while (true) {
+                byte[] payload;
+                int checksum;
+                try {
+                    int length = in.readInt();
+                    checksum = in.readInt();
+                    if (length < ItemRecordCodec.FIXED_SIZE || length > MAX_RECORD_SIZE) {
+                        log.warn("손상된 기록을 만나 재생을 멈춥니다. file={}, replayed={}", path, count);
+                        return count;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    return count;
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("손상된 기록을 만나 재생을 멈춥니다. file={}, replayed={}", path, count);
+                    return count;
+                }
+                consumer.accept(ItemRecordCodec.read(ByteBuffer.wrap(payload)));
+                count++;
+            }
+        }
+    }
+
+    /**
+     * 스냅샷에 모두 반영된 이전 세그먼트를 지운다.
+     */
+    public static void deleteSegmentsBefore(Path directory, long segment) throws IOException {
+        for (long old : listSegments(directory)) {
+            if (old < segment) {
+                Files.deleteIfExists(segmentPath(directory, old));
+            }
+        }
+    }
+}
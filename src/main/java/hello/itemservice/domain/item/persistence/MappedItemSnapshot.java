@@ -0,0 +1,191 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.Item;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 메모리 매핑(FileChannel.map)으로 여는 상품 스냅샷 (ItemSnapshot 버전 2, 3 형식)
+ * 열 때는 헤더만 읽고, 실제 데이터는 처음 조회될 때 OS 가 페이지 단위로 읽어 온다.
+ * -> 스냅샷 크기와 상관없이 시작이 빠르고, 힙도 거의 쓰지 않는다.
+ *
+ * 항목은 id 오름차순 고정 길이(32 byte)라서 id 로 바로 위치를 짐작하고, 빈 id 가 있으면 이진 탐색한다.
+ */
+final class MappedItemSnapshot {
+
+    // 매핑 하나는 2GB 를 넘을 수 없으므로 1GB 단위로 나눠서 매핑한다. (ENTRY_SIZE 의 배수)
+    private static final long CHUNK_SIZE = 1L << 30;
+
+    private final long walSegment;
+    private final long count;
+    private final long maxId;
+    private final ByteBuffer[] entries;
+    private final ByteBuffer[] versions; // 버전 2 스냅샷이면 null
+    private final ByteBuffer[] names;
+
+    private MappedItemSnapshot(long walSegment, long count, long maxId, ByteBuffer[] entries, ByteBuffer[] versions, ByteBuffer[] names) {
+        this.walSegment = walSegment;
+        this.count = count;
+        this.maxId = maxId;
+        this.entries = entries;
+        this.versions = versions;
+        this.names = names;
+    }
+
+    static MappedItemSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ItemSnapshot.Header header = ItemSnapshot.readHeader(channel);
+            if (header.version != ItemSnapshot.VERSION && header.version != ItemSnapshot.UNVERSIONED_VERSION) {
+                throw new IOException("메모리 매핑할 수 없는 스냅샷 버전입니다. version=" + header.version);
+            }
+            long entriesSize = header.count * ItemSnapshot.ENTRY_SIZE;
+            long namesSize = channel.size() - header.namesOffset;
+            // 매핑은 채널을 닫아도 유지된다.
+            return new MappedItemSnapshot(header.walSegment, header.count, header.maxId,
+                    map(channel, ItemSnapshot.HEADER_SIZE, entriesSize),
+                    header.versionsOffset == 0 ? null : map(channel, header.versionsOffset, header.count * 4),
+                    map(channel, header.namesOffset, namesSize));
+        }
+    }
+
+    long walSegment() {
+        return walSegment;
+    }
+
+    long count() {
+        return count;
+    }
+
+    long maxId() {
+        return maxId;
+    }
+
+    Item get(long id) {
+        long index = indexOf(id);
+        return index < 0 ? null : itemAt(index);
+    }
+
+    /**
+     * cursor 다음 id 부터 순서대로 조회한다.
+     */
+    Iterator<Item> iterator(Long cursor, boolean descending) {
+        long start;
+        if (cursor == null) {
+            start = descending ? count - 1 : 0;
+        } else {
+            long index = indexOf(cursor);
+            long insertion = index >= 0 ? index : -index - 1;
+            if (descending) {
+                start = insertion - 1;
+            } else {
+                start = index >= 0 ? index + 1 : insertion;
+            }
+        }
+
+        long step = descending ? -1 : 1;
+        return new Iterator<>() {
+            private long next = start;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0 && next < count;
+            }
+
+            @Override
+            public Item next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Item item = itemAt(next);
+                next += step;
+                return item;
+            }
+        };
+    }
+
+    /**
+     * @return 항목 위치, 없으면 -(들어갈 위치) - 1
+     */
+    private long indexOf(long id) {
+        if (count == 0) {
+            return -1;
+        }
+        // id 가 빈틈없이 이어져 있으면 바로 찾는다.
+        long guess = id - idAt(0);
+        if (guess >= 0 && guess < count && idAt(guess) == id) {
+            return guess;
+        }
+
+        long low = 0;
+        long high = count - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long midId = idAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private long idAt(long index) {
+        long position = index * ItemSnapshot.ENTRY_SIZE;
+        return chunk(entries, position).getLong(offset(position));
+    }
+
+    private Item itemAt(long index) {
+        long position = index * ItemSnapshot.ENTRY_SIZE;
+        ByteBuffer chunk = chunk(entries, position);
+        int base = offset(position);
+
+        long id = chunk.getLong(base);
+        long nameOffset = chunk.getLong(base + 8);
+        int price = chunk.getInt(base + 16);
+        int quantity = chunk.getInt(base + 20);
+        int nameLength = chunk.getInt(base + 24);
+        byte flags = chunk.get(base + 28);
+
+        byte[] name = new byte[nameLength];
+        for (int i = 0; i < nameLength; ) {
+            ByteBuffer namesChunk = chunk(names, nameOffset + i);
+            int from = offset(nameOffset + i);
+            int length = Math.min(nameLength - i, namesChunk.capacity() - from);
+            namesChunk.duplicate().position(from).get(name, i, length);
+            i += length;
+        }
+        int version = Item.INITIAL_VERSION;
+        if (versions != null) {
+            long versionPosition = index * 4;
+            version = chunk(versions, versionPosition).getInt(offset(versionPosition));
+        }
+        return ItemRecordCodec.toItem(id, flags, price, quantity, name, version);
+    }
+
+    private static ByteBuffer chunk(ByteBuffer[] chunks, long position) {
+        return chunks[(int) (position / CHUNK_SIZE)];
+    }
+
+    private static int offset(long position) {
+        return (int) (position % CHUNK_SIZE);
+    }
+
+    private static ByteBuffer[] map(FileChannel channel, long position, long size) throws IOException {
+        int chunkCount = (int) ((size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long chunkSize = Math.min(CHUNK_SIZE, size - i * CHUNK_SIZE);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + i * CHUNK_SIZE, chunkSize);
+        }
+        return chunks;
+    }
+}
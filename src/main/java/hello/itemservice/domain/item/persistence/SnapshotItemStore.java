@@ -0,0 +1,135 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemStore;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리 매핑한 스냅샷(base) 위에 이후 변경분(changes)만 따로 보관하는 저장 엔진
+ * 조회는 changes 를 먼저 보고 없으면 스냅샷에서 읽는다. 쓰기는 항상 changes 에만 한다.
+ * 시작할 때 스냅샷 전체를 읽어 들이지 않으므로 상품 수와 관계없이 바로 요청을 받을 수 있다.
+ */
+class SnapshotItemStore implements ItemStore {
+
+    private volatile MappedItemSnapshot base;
+    private final ItemStore changes;
+    // changes 에만 있는 (스냅샷에 없는) 상품 수
+    private final AtomicLong addedCount = new AtomicLong();
+
+    SnapshotItemStore(MappedItemSnapshot base, ItemStore changes) {
+        this.base = base;
+        this.changes = changes;
+    }
+
+    /**
+     * 같은 id 에 대한 put 은 ItemRepository 의 락 스트라이프로 직렬화되어 들어온다.
+     */
+    @Override
+    public void put(Item item) {
+        MappedItemSnapshot snapshot = base;
+        boolean added = changes.get(item.getId()) == null
+                && (snapshot == null || snapshot.get(item.getId()) == null);
+        changes.put(item);
+        if (added) {
+            addedCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public Item get(long id) {
+        Item changed = changes.get(id);
+        if (changed != null) {
+            return changed;
+        }
+        MappedItemSnapshot snapshot = base;
+        return snapshot == null ? null : snapshot.get(id);
+    }
+
+    /**
+     * 두 저장소 모두 id 순서이므로 병합하면서 읽고, 같은 id 는 변경분을 쓴다.
+     */
+    @Override
+    public Iterator<Item> iterator(Long cursor, boolean descending) {
+        MappedItemSnapshot snapshot = base;
+        if (snapshot == null) {
+            return changes.iterator(cursor, descending);
+        }
+        return new MergingIterator(snapshot.iterator(cursor, descending), changes.iterator(cursor, descending), descending);
+    }
+
+    @Override
+    public long size() {
+        MappedItemSnapshot snapshot = base;
+        return (snapshot == null ? 0 : snapshot.count()) + addedCount.get();
+    }
+
+    @Override
+    public long maxId() {
+        MappedItemSnapshot snapshot = base;
+        return Math.max(snapshot == null ? 0 : snapshot.maxId(), changes.maxId());
+    }
+
+    @Override
+    public void clear() {
+        base = null;
+        changes.clear();
+        addedCount.set(0);
+    }
+
+    private static final class MergingIterator implements Iterator<Item> {
+
+        private final Iterator<Item> snapshot;
+        private final Iterator<Item> changes;
+        private final boolean descending;
+        private Item nextSnapshot;
+        private Item nextChange;
+
+        private MergingIterator(Iterator<Item> snapshot, Iterator<Item> changes, boolean descending) {
+            this.snapshot = snapshot;
+            this.changes = changes;
+            this.descending = descending;
+            this.nextSnapshot = snapshot.hasNext() ? snapshot.next() : null;
+            this.nextChange = changes.hasNext() ? changes.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextSnapshot != null || nextChange != null;
+        }
+
+        @Override
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextChange == null) {
+                return takeSnapshot();
+            }
+            if (nextSnapshot == null) {
+                return takeChange();
+            }
+
+            int compare = Long.compare(nextSnapshot.getId(), nextChange.getId());
+            if (compare == 0) {
+                takeSnapshot(); // 변경분이 우선
+                return takeChange();
+            }
+            return (compare < 0) != descending ? takeSnapshot() : takeChange();
+        }
+
+        private Item takeSnapshot() {
+            Item item = nextSnapshot;
+            nextSnapshot = snapshot.hasNext() ? snapshot.next() : null;
+            return item;
+        }
+
+        private Item takeChange() {
+            Item item = nextChange;
+            nextChange = changes.hasNext() ? changes.next() : null;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.web.message.BoundedCache;
+import hello.itemservice.web.message.MessageBundleReloadedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 렌더링을 마친 화면(HTML)을 (경로 + 쿼리, 로케일) 별로 보관한다.
+ * 화면마다 만들 때 기준이 된 상품 상태(token)로 ETag 를 만들어 함께 저장하고, 꺼낼 때 현재 ETag 와 다르면 버린다.
+ *  - 상세 화면 : 상품 version
+ *  - 목록 화면 : ItemRepository.modificationCount
+ * 메시지 번들을 다시 읽는 경우처럼 상품과 상관없이 화면이 바뀌면 clear 로 모두 버린다. (ETag 도 함께 바뀐다)
+ */
+public class RenderedPageCache {
+
+    private final BoundedCache<Key, Page> pages;
+    // 서버를 다시 띄우거나 clear 하면 달라진다. (이전 ETag 가 304 로 잘못 맞지 않도록)
+    private final String epochPrefix = Long.toString(System.currentTimeMillis(), 36) + "-";
+    private final AtomicLong generation = new AtomicLong();
+
+    public RenderedPageCache(int maxEntries) {
+        this.pages = new BoundedCache<>(maxEntries);
+    }
+
+    /**
+     * 화면을 만들기 전에 구한다. 같은 화면, 같은 token 이면 항상 같고 캐시에서 꺼낼 때의 비교 기준도 된다.
+     */
+    public String etag(Key key, String token) {
+        return "\"" + epochPrefix + generation.get() + "-" + token + "-" + key.locale.toLanguageTag() + "\"";
+    }
+
+    /**
+     * @return etag 가 같은 캐시된 화면, 없으면 null
+     */
+    public Page get(Key key, String etag) {
+        Page page = pages.getIfPresent(key);
+        return page != null && page.etag.equals(etag) ? page : null;
+    }
+
+    /**
+     * @param etag 렌더링을 시작하기 전에 구한 값 (렌더링 도중 상품이 바뀌었으면 다음 조회에서 etag 가 달라 다시 만든다)
+     */
+    public void put(Key key, String etag, String contentType, byte[] body) {
+        pages.put(key, new Page(etag, contentType, body));
+    }
+
+    // 메시지 번들을 다시 읽으면 화면 문구가 바뀐다.
+    @EventListener(MessageBundleReloadedEvent.class)
+    public void clear() {
+        generation.incrementAndGet();
+        pages.clear();
+    }
+
+    public int size() {
+        return pages.size();
+    }
+
+    public static final class Page {
+
+        private final String etag;
+        private final String contentType;
+        private final byte[] body;
+
+        private Page(String etag, String contentType, byte[] body) {
+            this.etag = etag;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+
+    public static final class Key {
+
+        private final String path;
+        private final Locale locale;
+        private final int hash;
+
+        public Key(String path, Locale locale) {
+            this.path = path;
+            this.locale = locale;
+            this.hash = Objects.hash(path, locale);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return path.equals(other.path) && locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 상품 상세(/validation/v{n}/items/{itemId})와 목록(/validation/v{n}/items) 화면을 렌더링하지 않고 캐시에서 내려준다.
+ *  - If-None-Match 가 현재 ETag 와 같으면 본문 없이 304
+ *  - 캐시에 같은 ETag 의 화면이 있으면 그대로 응답 (컨트롤러, 타임리프를 거치지 않는다)
+ *  - 없으면 평소처럼 렌더링하고 200 HTML 응답만 캐시에 넣는다.
+ * 상품이 저장/수정되면 ETag 가 달라지므로 따로 지우지 않아도 이전 화면은 쓰이지 않는다. (RenderedPageCache)
+ *
+ * 지표 item.page.cache (result=hit, miss, not_modified)
+ */
+public class RenderedPageCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern ITEM_PAGE = Pattern.compile("/validation/v\\d+/items(?:/(\\d{1,18}))?");
+
+    private final RenderedPageCache cache;
+    private final ItemRepository itemRepository;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+
+    public RenderedPageCacheFilter(RenderedPageCache cache, ItemRepository itemRepository, MeterRegistry registry) {
+        this.cache = cache;
+        this.itemRepository = itemRepository;
+        this.hits = registry.counter("item.page.cache", "result", "hit");
+        this.misses = registry.counter("item.page.cache", "result", "miss");
+        this.notModified = registry.counter("item.page.cache", "result", "not_modified");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Matcher matcher = ITEM_PAGE.matcher(urlPathHelper.getPathWithinApplication(request));
+        String token = matcher.matches() ? token(matcher.group(1)) : null;
+        if (token == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Locale locale = request.getLocale();
+        String path = request.getQueryString() == null ? request.getRequestURI() : request.getRequestURI() + "?" + request.getQueryString();
+        RenderedPageCache.Key key = new RenderedPageCache.Key(path, locale);
+        String etag = cache.etag(key, token);
+
+        // 브라우저가 매번 다시 확인하도록 하고, 로케일마다 다른 화면이 나간다는 것을 알린다.
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+
+        // If-None-Match 에 ETag 가 여러 개 올 수도 있다. (ETag 는 따옴표까지 포함한 고유한 문자열)
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+            notModified.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        RenderedPageCache.Page page = cache.get(key, etag);
+        if (page != null) {
+            hits.increment();
+            response.setContentType(page.getContentType());
+            response.setContentLength(page.getBody().length);
+            response.getOutputStream().write(page.getBody());
+            return;
+        }
+
+        misses.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() == HttpServletResponse.SC_OK && contentType != null && contentType.startsWith("text/html")) {
+            cache.put(key, etag, contentType, wrapper.getContentAsByteArray());
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * @return 화면이 기준으로 삼는 상품 상태, 캐시하지 않을 화면이면 null
+     */
+    private String token(String itemId) {
+        if (itemId == null) {
+            return "m" + itemRepository.modificationCount();
+        }
+        Item item = itemRepository.findById(Long.valueOf(itemId));
+        if (item == null || item.getVersion() == null) {
+            return null;
+        }
+        return "v" + item.getVersion();
+    }
+}
@@ -0,0 +1,66 @@
+package hello.itemservice.web.message;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 크기 제한이 있는 동시성 캐시
+ * maxSize 를 넘으면 임의의 항목을 1/4 정도 지운다. (정확한 LRU 가 아니라 락 없이 대략적으로 제한만 한다)
+ * 잘못된 입력이 계속 들어와도(필드명, 객체명이 제각각) 메모리가 끝없이 늘지 않게 하는 것이 목적이다.
+ */
+public class BoundedCache<K, V> {
+
+    private final ConcurrentHashMap<K, V> map = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public BoundedCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize 는 1 이상이어야 합니다. maxSize=" + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = map.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = loader.apply(key);
+        if (value != null) {
+            if (map.size() >= maxSize) {
+                evict();
+            }
+            map.put(key, value);
+        }
+        return value;
+    }
+
+    public V getIfPresent(K key) {
+        return map.get(key);
+    }
+
+    public void put(K key, V value) {
+        if (map.size() >= maxSize) {
+            evict();
+        }
+        map.put(key, value);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    private void evict() {
+        int toRemove = Math.max(1, maxSize / 4);
+        Iterator<K> iterator = map.keySet().iterator();
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
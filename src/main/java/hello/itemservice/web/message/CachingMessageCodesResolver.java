@@ -0,0 +1,78 @@
+package hello.itemservice.web.message;
+
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.Objects;
+
+/**
+ * DefaultMessageCodesResolver 가 만든 메시지 코드 목록을 캐시한다.
+ * required.item.itemName, required.itemName, required.java.lang.String, required 같은 문자열을
+ * 같은 (errorCode, objectName, field, fieldType) 에 대해 한 번만 만든다.
+ */
+public class CachingMessageCodesResolver implements MessageCodesResolver {
+
+    private final MessageCodesResolver delegate;
+    private final BoundedCache<Key, String[]> cache;
+
+    public CachingMessageCodesResolver(int maxSize) {
+        this(new DefaultMessageCodesResolver(), maxSize);
+    }
+
+    public CachingMessageCodesResolver(MessageCodesResolver delegate, int maxSize) {
+        this.delegate = delegate;
+        this.cache = new BoundedCache<>(maxSize);
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        String[] codes = cache.get(new Key(errorCode, objectName, null, null),
+                key -> delegate.resolveMessageCodes(errorCode, objectName));
+        // 캐시한 배열을 호출한 쪽에서 바꾸지 못하도록 복사해서 준다.
+        return codes.clone();
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+        String[] codes = cache.get(new Key(errorCode, objectName, field, fieldType),
+                key -> delegate.resolveMessageCodes(errorCode, objectName, field, fieldType));
+        return codes.clone();
+    }
+
+    private static final class Key {
+
+        private final String errorCode;
+        private final String objectName;
+        private final String field;
+        private final Class<?> fieldType;
+        private final int hash;
+
+        private Key(String errorCode, String objectName, String field, Class<?> fieldType) {
+            this.errorCode = errorCode;
+            this.objectName = objectName;
+            this.field = field;
+            this.fieldType = fieldType;
+            this.hash = Objects.hash(errorCode, objectName, field, fieldType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(errorCode, other.errorCode)
+                    && Objects.equals(objectName, other.objectName)
+                    && Objects.equals(field, other.field)
+                    && fieldType == other.fieldType;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package hello.itemservice.web.message;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 검증 오류처럼 코드가 여러 개인 메시지(MessageSourceResolvable)에서 실제로 메시지가 있는 코드를 캐시한다.
+ * 예) required.item.itemName, required.itemName, required.java.lang.String, required 중 required 만 있으면
+ *     처음 한 번만 순서대로 찾아보고, 이후에는 (코드 목록, 로케일) -> required 로 바로 찾는다.
+ * 인자(거부된 값 등)는 매번 다를 수 있으므로 메시지는 캐시하지 않고 찾은 코드로 매번 만든다.
+ */
+public class CachingMessageSource implements MessageSource {
+
+    private final MessageSource delegate;
+    private final BoundedCache<Key, Optional<String>> resolvedCodes;
+
+    public CachingMessageSource(MessageSource delegate, int maxSize) {
+        this.delegate = delegate;
+        this.resolvedCodes = new BoundedCache<>(maxSize);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        return delegate.getMessage(code, args, defaultMessage, locale);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        return delegate.getMessage(code, args, locale);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        String[] codes = resolvable.getCodes();
+        if (codes == null || codes.length < 2) {
+            return delegate.getMessage(resolvable, locale);
+        }
+
+        Optional<String> code = resolvedCodes.get(new Key(codes, locale), key -> Optional.ofNullable(findCode(codes, locale)));
+        if (code.isEmpty()) {
+            // 기본 메시지를 쓰거나 NoSuchMessageException 을 던지는 처리는 delegate 에 맡긴다.
+            return delegate.getMessage(resolvable, locale);
+        }
+        return delegate.getMessage(code.get(), resolvable.getArguments(), locale);
+    }
+
+    /**
+     * 메시지 번들이 바뀌었을 때 호출한다.
+     */
+    public void clear() {
+        resolvedCodes.clear();
+    }
+
+    private String findCode(String[] codes, Locale locale) {
+        for (String code : codes) {
+            if (delegate.getMessage(code, null, null, locale) != null) {
+                return code;
+            }
+        }
+        return null;
+    }
+
+    private static final class Key {
+
+        private final String[] codes;
+        private final Locale locale;
+        private final int hash;
+
+        private Key(String[] codes, Locale locale) {
+            this.codes = codes;
+            this.locale = locale;
+            this.hash = 31 * Arrays.hashCode(codes) + Objects.hashCode(locale);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Arrays.equals(codes, other.codes) && Objects.equals(locale, other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
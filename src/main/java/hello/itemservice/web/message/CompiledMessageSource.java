@@ -0,0 +1,351 @@
+package hello.itemservice.web.message;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.util.ObjectUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 메시지 번들(messages, errors ...)을 로케일마다 한 번 읽어서, 모든 메시지를 MessageTemplate 으로 미리 해석해 두는 MessageSource
+ * 요청마다 MessageFormat 을 만들거나 복사하지 않고, 해석해 둔 조각에 인자만 넣어서 출력한다.
+ *
+ * 번들을 찾는 순서와 결과는 ResourceBundleMessageSource 와 같다.
+ *  - basename 순서대로, 각 basename 안에서는 messages_ko_KR -> messages_ko -> messages 순서로 찾는다.
+ *  - 요청한 로케일의 번들이 없으면(fallbackToSystemLocale) 시스템 로케일의 번들을 사용한다.
+ *  - 인자가 없으면 MessageFormat 을 거치지 않은 원래 메시지를 돌려준다. (alwaysUseMessageFormat=false)
+ *
+ * directory 를 지정하면 같은 이름의 번들 파일을 클래스패스보다 먼저 그 디렉토리에서 찾는다.
+ * reload() 는 지금까지 읽은 모든 로케일을 새로 읽어 만든 뒤 한 번에 교체한다.
+ * -> 요청 스레드는 락 없이 이전 목록이나 새 목록 중 하나만 보고, 읽는 중인 목록은 보지 않는다.
+ */
+public class CompiledMessageSource implements MessageSource {
+
+    private static final ResourceBundle.Control CONTROL = ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_PROPERTIES);
+
+    private final List<String> basenames;
+    private final Charset encoding;
+    private final ClassLoader classLoader;
+    private final boolean fallbackToSystemLocale;
+    private final boolean alwaysUseMessageFormat;
+    private final boolean useCodeAsDefaultMessage;
+    private final Path directory;
+
+    // reload() 에서 통째로 교체한다. 새 로케일은 현재 목록에 추가된다.
+    private volatile ConcurrentHashMap<Locale, Map<String, MessageTemplate>> indexes = new ConcurrentHashMap<>();
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<Locale, LocaleFormat> formats = new ConcurrentHashMap<>();
+    // 기본 메시지(defaultMessage)는 번들에 없으므로 따로 해석해서 캐시한다.
+    private final BoundedCache<DefaultMessageKey, MessageTemplate> defaultMessages = new BoundedCache<>(1000);
+
+    public CompiledMessageSource(List<String> basenames, Charset encoding, boolean fallbackToSystemLocale,
+                                 boolean alwaysUseMessageFormat, boolean useCodeAsDefaultMessage) {
+        this(basenames, encoding, fallbackToSystemLocale, alwaysUseMessageFormat, useCodeAsDefaultMessage, null);
+    }
+
+    public CompiledMessageSource(List<String> basenames, Charset encoding, boolean fallbackToSystemLocale,
+                                 boolean alwaysUseMessageFormat, boolean useCodeAsDefaultMessage, Path directory) {
+        this.basenames = List.copyOf(basenames);
+        this.encoding = encoding;
+        this.classLoader = CompiledMessageSource.class.getClassLoader();
+        this.fallbackToSystemLocale = fallbackToSystemLocale;
+        this.alwaysUseMessageFormat = alwaysUseMessageFormat;
+        this.useCodeAsDefaultMessage = useCodeAsDefaultMessage;
+        this.directory = directory;
+    }
+
+    /**
+     * 번들 파일을 다시 읽는다. 읽다가 실패하면 예외를 던지고 기존 목록을 그대로 쓴다.
+     */
+    public synchronized void reload() {
+        ConcurrentHashMap<Locale, Map<String, MessageTemplate>> reloaded = new ConcurrentHashMap<>();
+        for (Locale locale : indexes.keySet()) {
+            reloaded.put(locale, buildIndex(locale));
+        }
+        indexes = reloaded;
+        for (Runnable listener : reloadListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * reload() 로 목록을 교체한 뒤에 실행한다. (메시지를 캐시하는 쪽에서 캐시를 비울 때 사용)
+     */
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * 번들 파일이 있는 디렉토리 (지정한 directory 와, 클래스패스 중 jar 가 아닌 파일 디렉토리)
+     */
+    public Set<Path> bundleDirectories() {
+        Set<Path> directories = new LinkedHashSet<>();
+        if (directory != null) {
+            directories.add(directory);
+        }
+        for (String basename : basenames) {
+            URL url = classLoader.getResource(resourceName(basename, Locale.ROOT));
+            if (url != null && "file".equals(url.getProtocol())) {
+                try {
+                    directories.add(Paths.get(url.toURI()).getParent());
+                } catch (URISyntaxException e) {
+                    // 파일 경로로 바꿀 수 없으면 감시하지 않는다.
+                }
+            }
+        }
+        return directories;
+    }
+
+    /**
+     * 파일 이름이 이 MessageSource 의 번들 파일(messages.properties, errors_en.properties ...)인지
+     */
+    public boolean isBundleFile(String fileName) {
+        if (!fileName.endsWith(".properties")) {
+            return false;
+        }
+        for (String basename : basenames) {
+            String name = basename.substring(basename.lastIndexOf('.') + 1);
+            if (fileName.equals(name + ".properties") || fileName.startsWith(name + "_")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        String message = getMessageInternal(code, args, locale);
+        if (message != null) {
+            return message;
+        }
+        if (defaultMessage == null) {
+            return useCodeAsDefaultMessage ? code : null;
+        }
+        return renderDefaultMessage(defaultMessage, args, locale);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        String message = getMessageInternal(code, args, locale);
+        if (message != null) {
+            return message;
+        }
+        if (useCodeAsDefaultMessage) {
+            return code;
+        }
+        throw new NoSuchMessageException(code, locale);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        String[] codes = resolvable.getCodes();
+        if (codes != null) {
+            for (String code : codes) {
+                String message = getMessageInternal(code, resolvable.getArguments(), locale);
+                if (message != null) {
+                    return message;
+                }
+            }
+        }
+
+        String defaultMessage = resolvable.getDefaultMessage();
+        if (defaultMessage != null) {
+            if (resolvable instanceof DefaultMessageSourceResolvable
+                    && !((DefaultMessageSourceResolvable) resolvable).shouldRenderDefaultMessage()) {
+                return defaultMessage;
+            }
+            if (!ObjectUtils.isEmpty(codes) && defaultMessage.equals(codes[0])) {
+                return defaultMessage;
+            }
+            return renderDefaultMessage(defaultMessage, resolvable.getArguments(), locale);
+        }
+        if (useCodeAsDefaultMessage && !ObjectUtils.isEmpty(codes)) {
+            return codes[0];
+        }
+        throw new NoSuchMessageException(!ObjectUtils.isEmpty(codes) ? codes[codes.length - 1] : "", locale);
+    }
+
+    private String getMessageInternal(String code, Object[] args, Locale locale) {
+        if (code == null) {
+            return null;
+        }
+        MessageTemplate template = index(locale).get(code);
+        if (template == null) {
+            return null;
+        }
+        if (!alwaysUseMessageFormat && ObjectUtils.isEmpty(args)) {
+            return template.raw();
+        }
+        return template.format(resolveArguments(args, locale));
+    }
+
+    private String renderDefaultMessage(String defaultMessage, Object[] args, Locale locale) {
+        if (!alwaysUseMessageFormat && ObjectUtils.isEmpty(args)) {
+            return defaultMessage;
+        }
+        Locale target = locale == null ? Locale.getDefault() : locale;
+        MessageTemplate template = defaultMessages.get(new DefaultMessageKey(defaultMessage, target),
+                key -> MessageTemplate.compile(defaultMessage, format(target)));
+        try {
+            return template.format(resolveArguments(args, locale));
+        } catch (IllegalArgumentException e) {
+            // 기본 메시지가 MessageFormat 형식이 아니면 그대로 쓴다. (MessageSourceSupport 와 같다)
+            return defaultMessage;
+        }
+    }
+
+    // 인자 중 MessageSourceResolvable(필드 이름 등)은 먼저 메시지로 바꾼다.
+    private Object[] resolveArguments(Object[] args, Locale locale) {
+        if (ObjectUtils.isEmpty(args)) {
+            return args;
+        }
+        Object[] resolved = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageSourceResolvable) {
+                if (resolved == null) {
+                    resolved = args.clone();
+                }
+                resolved[i] = getMessage((MessageSourceResolvable) args[i], locale);
+            }
+        }
+        return resolved == null ? args : resolved;
+    }
+
+    /**
+     * 로케일의 메시지 목록, 처음 요청한 로케일이면 번들을 읽어서 만든다.
+     */
+    private Map<String, MessageTemplate> index(Locale locale) {
+        Locale target = locale == null ? Locale.getDefault() : locale;
+        ConcurrentHashMap<Locale, Map<String, MessageTemplate>> current = indexes;
+        Map<String, MessageTemplate> index = current.get(target);
+        if (index == null) {
+            index = current.computeIfAbsent(target, this::buildIndex);
+        }
+        return index;
+    }
+
+    private Map<String, MessageTemplate> buildIndex(Locale locale) {
+        LocaleFormat format = format(locale);
+        Map<String, MessageTemplate> index = new HashMap<>();
+        for (String basename : basenames) {
+            for (Locale bundleLocale : bundleLocales(basename, locale)) {
+                Properties properties = load(basename, bundleLocale);
+                for (String key : properties.stringPropertyNames()) {
+                    // 앞의 basename, 더 구체적인 로케일이 우선한다.
+                    index.computeIfAbsent(key, k -> MessageTemplate.compile(properties.getProperty(k), format));
+                }
+            }
+        }
+        return Map.copyOf(index);
+    }
+
+    private LocaleFormat format(Locale locale) {
+        return formats.computeIfAbsent(locale, LocaleFormat::new);
+    }
+
+    /**
+     * ResourceBundle.getBundle 과 같은 규칙으로 실제로 있는 번들의 로케일을 구체적인 순서대로 돌려준다.
+     */
+    private List<Locale> bundleLocales(String basename, Locale locale) {
+        List<Locale> found = existingBundles(basename, locale);
+        boolean onlyBase = found.isEmpty() || (found.size() == 1 && found.get(0).equals(Locale.ROOT));
+        if (onlyBase && fallbackToSystemLocale && !locale.equals(Locale.ROOT) && !locale.equals(Locale.getDefault())) {
+            List<Locale> fallback = existingBundles(basename, Locale.getDefault());
+            if (!fallback.isEmpty()) {
+                return fallback;
+            }
+        }
+        return found;
+    }
+
+    private List<Locale> existingBundles(String basename, Locale locale) {
+        List<Locale> found = new ArrayList<>();
+        for (Locale candidate : CONTROL.getCandidateLocales(basename, locale)) {
+            String resourceName = resourceName(basename, candidate);
+            if (externalFile(resourceName) != null || classLoader.getResource(resourceName) != null) {
+                found.add(candidate);
+            }
+        }
+        return found;
+    }
+
+    private Properties load(String basename, Locale locale) {
+        Properties properties = new Properties();
+        String resourceName = resourceName(basename, locale);
+        Path file = externalFile(resourceName);
+        try (InputStream in = file != null ? Files.newInputStream(file) : classLoader.getResourceAsStream(resourceName)) {
+            if (in != null) {
+                try (Reader reader = new InputStreamReader(in, encoding)) {
+                    properties.load(reader);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지 번들을 읽을 수 없습니다. basename=" + basename + ", locale=" + locale, e);
+        }
+        return properties;
+    }
+
+    private Path externalFile(String resourceName) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(resourceName);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    private static String resourceName(String basename, Locale locale) {
+        return CONTROL.toResourceName(CONTROL.toBundleName(basename, locale), "properties");
+    }
+
+    private static final class DefaultMessageKey {
+
+        private final String message;
+        private final Locale locale;
+
+        private DefaultMessageKey(String message, Locale locale) {
+            this.message = message;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DefaultMessageKey)) {
+                return false;
+            }
+            DefaultMessageKey other = (DefaultMessageKey) o;
+            return message.equals(other.message) && locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(message, locale);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package hello.itemservice.web.message;
+
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * 로케일 하나의 숫자/날짜 출력 규칙 (MessageFormat 의 {0} 처럼 형식을 지정하지 않은 인자와 같은 결과)
+ * 정수는 미리 읽어 둔 부호, 그룹 구분자, 그룹 크기로 직접 출력해서 매번 NumberFormat 을 복사하지 않는다.
+ * 그 밖의 숫자와 날짜는 원본 Format 을 복사해서 출력한다. (Format 은 스레드 안전하지 않다)
+ */
+final class LocaleFormat {
+
+    private static final long[] SAMPLES = {0, 7, 999, 1000, -1234567, 1000000, Long.MAX_VALUE, Long.MIN_VALUE};
+
+    private final Locale locale;
+    private final NumberFormat numberFormat;
+    private final DateFormat dateFormat;
+
+    private final boolean directIntegers;
+    private final String positivePrefix;
+    private final String positiveSuffix;
+    private final String negativePrefix;
+    private final String negativeSuffix;
+    private final char groupingSeparator;
+    private final int groupingSize;
+    private final char zeroDigit;
+
+    LocaleFormat(Locale locale) {
+        this.locale = locale;
+        this.numberFormat = NumberFormat.getInstance(locale);
+        this.dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale);
+
+        if (numberFormat instanceof DecimalFormat && ((DecimalFormat) numberFormat).getMultiplier() == 1) {
+            DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
+            positivePrefix = decimalFormat.getPositivePrefix();
+            positiveSuffix = decimalFormat.getPositiveSuffix();
+            negativePrefix = decimalFormat.getNegativePrefix();
+            negativeSuffix = decimalFormat.getNegativeSuffix();
+            groupingSeparator = decimalFormat.getDecimalFormatSymbols().getGroupingSeparator();
+            groupingSize = decimalFormat.isGroupingUsed() ? decimalFormat.getGroupingSize() : 0;
+            zeroDigit = decimalFormat.getDecimalFormatSymbols().getZeroDigit();
+        } else {
+            positivePrefix = positiveSuffix = negativePrefix = negativeSuffix = "";
+            groupingSeparator = ',';
+            groupingSize = 0;
+            zeroDigit = '0';
+        }
+        directIntegers = numberFormat instanceof DecimalFormat && sameAsNumberFormat();
+    }
+
+    Locale getLocale() {
+        return locale;
+    }
+
+    void append(StringBuilder builder, Object argument) {
+        if (argument == null) {
+            builder.append("null");
+        } else if (argument instanceof String) {
+            builder.append((String) argument);
+        } else if (argument instanceof Number) {
+            appendNumber(builder, (Number) argument);
+        } else if (argument instanceof Date) {
+            builder.append(((DateFormat) dateFormat.clone()).format(argument));
+        } else {
+            builder.append(argument);
+        }
+    }
+
+    private void appendNumber(StringBuilder builder, Number number) {
+        if (directIntegers && (number instanceof Integer || number instanceof Long
+                || number instanceof Short || number instanceof Byte)) {
+            appendInteger(builder, number.longValue());
+        } else {
+            builder.append(((NumberFormat) numberFormat.clone()).format(number));
+        }
+    }
+
+    private void appendInteger(StringBuilder builder, long value) {
+        boolean negative = value < 0;
+        builder.append(negative ? negativePrefix : positivePrefix);
+
+        // Long.MIN_VALUE 도 다룰 수 있도록 음수로 계산하고, 뒤에서부터 쓴 다음 뒤집는다.
+        long rest = negative ? value : -value;
+        int start = builder.length();
+        int digits = 0;
+        do {
+            if (groupingSize > 0 && digits > 0 && digits % groupingSize == 0) {
+                builder.append(groupingSeparator);
+            }
+            builder.append((char) (zeroDigit - (int) (rest % 10)));
+            rest /= 10;
+            digits++;
+        } while (rest != 0);
+        reverse(builder, start, builder.length() - 1);
+
+        builder.append(negative ? negativeSuffix : positiveSuffix);
+    }
+
+    // 로케일마다 규칙이 다를 수 있으므로 직접 출력한 결과가 NumberFormat 과 같을 때만 사용한다.
+    private boolean sameAsNumberFormat() {
+        for (long sample : SAMPLES) {
+            StringBuilder builder = new StringBuilder();
+            appendInteger(builder, sample);
+            if (!builder.toString().equals(numberFormat.format(sample))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void reverse(StringBuilder builder, int from, int to) {
+        while (from < to) {
+            char c = builder.charAt(from);
+            builder.setCharAt(from++, builder.charAt(to));
+            builder.setCharAt(to--, c);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package hello.itemservice.web.message;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 메시지 번들을 다시 읽은 뒤 발행한다. (MessageConfig)
+ * 화면처럼 메시지가 들어간 결과를 캐시하는 쪽에서 받아서 캐시를 비운다.
+ */
+public class MessageBundleReloadedEvent extends ApplicationEvent {
+
+    public MessageBundleReloadedEvent(CompiledMessageSource source) {
+        super(source);
+    }
+}
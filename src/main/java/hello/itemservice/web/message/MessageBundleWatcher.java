@@ -0,0 +1,100 @@
+package hello.itemservice.web.message;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 번들 파일이 바뀌면 CompiledMessageSource 를 다시 읽는다.
+ * 전용 스레드 하나가 WatchService 로 번들 디렉토리를 감시하고, 변경이 멈춘 뒤(quietPeriod) 한 번만 다시 읽는다.
+ * (편집기는 파일 하나를 여러 번 나눠 쓰기도 하므로 쓰는 도중에 읽지 않도록 기다린다)
+ */
+@Slf4j
+public class MessageBundleWatcher implements Closeable {
+
+    private final CompiledMessageSource messageSource;
+    private final WatchService watchService;
+    private final long quietPeriodMillis;
+    private final Thread thread;
+
+    public MessageBundleWatcher(CompiledMessageSource messageSource, Duration quietPeriod) throws IOException {
+        this.messageSource = messageSource;
+        this.quietPeriodMillis = quietPeriod.toMillis();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : messageSource.bundleDirectories()) {
+            if (Files.isDirectory(directory)) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                log.info("메시지 번들 감시 directory={}", directory);
+            }
+        }
+
+        thread = new Thread(this::watchLoop, "message-bundle-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        thread.interrupt();
+        watchService.close();
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                boolean changed = isBundleChanged(watchService.take());
+                WatchKey key;
+                while ((key = watchService.poll(quietPeriodMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= isBundleChanged(key);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // close() 로 종료
+        }
+    }
+
+    private boolean isBundleChanged(WatchKey key) {
+        boolean changed = isBundleChanged(key.pollEvents());
+        key.reset();
+        return changed;
+    }
+
+    // OVERFLOW 는 놓친 이벤트가 있다는 뜻이므로 번들이 바뀐 것으로 본다.
+    boolean isBundleChanged(List<WatchEvent<?>> events) {
+        boolean changed = false;
+        for (WatchEvent<?> event : events) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+            } else if (messageSource.isBundleFile(event.context().toString())) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private void reload() {
+        long start = System.currentTimeMillis();
+        try {
+            messageSource.reload();
+            log.info("메시지 번들 다시 읽음 {}ms", System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("메시지 번들 다시 읽기 실패, 기존 메시지를 계속 사용합니다.", e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package hello.itemservice.web.message;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 미리 해석해 둔 메시지 패턴 (불변, 스레드 안전)
+ * "{0} ~ {1} 범위를 허용합니다." 를 ["", 0, " ~ ", 1, " 범위를 허용합니다."] 처럼 문자열과 인자 번호로 나눠 두고,
+ * 출력할 때는 이어 붙이기만 한다. 작은따옴표 규칙('' , '{literal}')은 MessageFormat 과 같다.
+ *
+ * {0,number,#.##} 처럼 형식을 지정한 인자가 있으면 직접 해석하지 않고 MessageFormat 으로 출력한다.
+ */
+final class MessageTemplate {
+
+    private final String pattern;
+    private final LocaleFormat format;
+    // String(문자열 조각) 또는 Integer(인자 번호), MessageFormat 으로 처리해야 하면 null
+    private final Object[] parts;
+    private MessageFormat messageFormat; // parts 가 null 일 때만 사용, this 로 보호
+
+    private MessageTemplate(String pattern, LocaleFormat format, Object[] parts) {
+        this.pattern = pattern;
+        this.format = format;
+        this.parts = parts;
+    }
+
+    static MessageTemplate compile(String pattern, LocaleFormat format) {
+        return new MessageTemplate(pattern, format, parse(pattern));
+    }
+
+    /**
+     * 인자 없이 MessageFormat 을 거치지 않은 원래 메시지
+     */
+    String raw() {
+        return pattern;
+    }
+
+    String format(Object[] args) {
+        if (parts == null) {
+            return formatWithMessageFormat(args);
+        }
+
+        StringBuilder builder = new StringBuilder(pattern.length() + 16);
+        for (Object part : parts) {
+            if (part instanceof String) {
+                builder.append((String) part);
+                continue;
+            }
+            int index = (Integer) part;
+            if (args == null || index >= args.length) {
+                builder.append('{').append(index).append('}');
+            } else {
+                format.append(builder, args[index]);
+            }
+        }
+        return builder.toString();
+    }
+
+    private synchronized String formatWithMessageFormat(Object[] args) {
+        if (messageFormat == null) {
+            messageFormat = new MessageFormat(pattern, format.getLocale());
+        }
+        return messageFormat.format(args);
+    }
+
+    /**
+     * @return 문자열 조각과 인자 번호, 형식 지정 인자가 있거나 괄호가 맞지 않으면 null
+     */
+    private static Object[] parse(String pattern) {
+        List<Object> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean inQuote = false;
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append(ch);
+                    i++;
+                } else {
+                    inQuote = !inQuote;
+                }
+            } else if (inQuote || ch != '{') {
+                literal.append(ch);
+            } else {
+                int end = pattern.indexOf('}', i + 1);
+                Integer index = end < 0 ? null : argumentIndex(pattern.substring(i + 1, end));
+                if (index == null) {
+                    return null;
+                }
+                if (literal.length() > 0) {
+                    parts.add(literal.toString());
+                    literal.setLength(0);
+                }
+                parts.add(index);
+                i = end;
+            }
+        }
+        if (literal.length() > 0) {
+            parts.add(literal.toString());
+        }
+        return parts.toArray();
+    }
+
+    private static Integer argumentIndex(String argument) {
+        if (argument.isEmpty() || argument.length() > 9) {
+            return null;
+        }
+        for (int i = 0; i < argument.length(); i++) {
+            if (argument.charAt(i) < '0' || argument.charAt(i) > '9') {
+                return null;
+            }
+        }
+        return Integer.valueOf(argument);
+    }
+}
@@ -0,0 +1,109 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.web.render.TemplateWarmup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 검증 실패 카운터 (validation.errors)
+ * 태그: object(객체 이름), field(필드 이름, 글로벌 오류는 global), code(오류 코드: required, range, NotBlank, typeMismatch ...)
+ * 필드와 오류 코드는 코드에 정해진 값이라 조합이 많지 않으므로, 조합마다 Counter 를 한 번만 만들어 재사용한다.
+ * 시작할 때 템플릿을 준비하려고 보낸 요청(TemplateWarmup)의 검증 오류는 세지 않는다.
+ */
+@Component
+public class ValidationMetrics {
+
+    static final String ERRORS = "validation.errors";
+    private static final String GLOBAL = "global";
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    public ValidationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(Errors errors) {
+        if (errors.hasErrors()) {
+            record(errors.getAllErrors());
+        }
+    }
+
+    public void record(List<? extends ObjectError> errors) {
+        if (TemplateWarmup.isWarmupRequest()) {
+            return;
+        }
+        for (ObjectError error : errors) {
+            counter(error).increment();
+        }
+    }
+
+    /**
+     * BindingResult 없이 직접 검증하는 컨트롤러(V1)용
+     * @param field 필드 이름, 글로벌 오류는 null
+     */
+    public void record(String objectName, String field, String code) {
+        if (TemplateWarmup.isWarmupRequest()) {
+            return;
+        }
+        counter(new Key(objectName, field != null ? field : GLOBAL, code)).increment();
+    }
+
+    private Counter counter(ObjectError error) {
+        String field = error instanceof FieldError ? ((FieldError) error).getField() : GLOBAL;
+        return counter(new Key(error.getObjectName(), field, Objects.toString(error.getCode(), "unknown")));
+    }
+
+    private Counter counter(Key key) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        return counters.computeIfAbsent(key, k -> Counter.builder(ERRORS)
+                .description("검증 실패 수")
+                .tag("object", k.objectName)
+                .tag("field", k.field)
+                .tag("code", k.code)
+                .register(registry));
+    }
+
+    private static final class Key {
+
+        private final String objectName;
+        private final String field;
+        private final String code;
+        private final int hash;
+
+        private Key(String objectName, String field, String code) {
+            this.objectName = objectName;
+            this.field = field;
+            this.code = code;
+            this.hash = Objects.hash(objectName, field, code);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return objectName.equals(other.objectName) && field.equals(other.field) && code.equals(other.code);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 모든 컨트롤러의 바인딩/검증 오류를 ValidationMetrics 로 센다.
+ * @InitBinder 에서 요청 중에 만들어진 WebDataBinder 를 모아 두었다가, 요청이 끝나면(afterCompletion) 오류를 센다.
+ * -> @ModelAttribute, @RequestBody 모두 WebDataBinder 를 거치므로 컨트롤러마다 코드를 넣지 않아도 된다.
+ * (WebConfig 에서 인터셉터로 등록한다)
+ */
+@ControllerAdvice
+public class ValidationMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String BINDERS = ValidationMetricsInterceptor.class.getName() + ".BINDERS";
+
+    private final ValidationMetrics validationMetrics;
+
+    public ValidationMetricsInterceptor(ValidationMetrics validationMetrics) {
+        this.validationMetrics = validationMetrics;
+    }
+
+    @InitBinder
+    public void collect(WebDataBinder binder, WebRequest request) {
+        // @PathVariable 등 단순 값 변환용 binder 는 대상 객체가 없다.
+        if (binder.getTarget() == null) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<WebDataBinder> binders = (List<WebDataBinder>) request.getAttribute(BINDERS, RequestAttributes.SCOPE_REQUEST);
+        if (binders == null) {
+            binders = new ArrayList<>(2);
+            request.setAttribute(BINDERS, binders, RequestAttributes.SCOPE_REQUEST);
+        }
+        binders.add(binder);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        @SuppressWarnings("unchecked")
+        List<WebDataBinder> binders = (List<WebDataBinder>) request.getAttribute(BINDERS);
+        if (binders == null) {
+            return;
+        }
+        for (WebDataBinder binder : binders) {
+            BindingResult bindingResult = binder.getBindingResult();
+            validationMetrics.record(bindingResult);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package hello.itemservice.web.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import hello.itemservice.web.validation.ValidationErrorLogger;
+import hello.itemservice.web.validation.bulk.ItemBulkImporter;
+import hello.itemservice.web.validation.bulk.ItemImportResult;
+import hello.itemservice.web.validation.bulk.ItemStreamImporter;
+import hello.itemservice.web.validation.compiled.CompiledValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * 상품 JSON API 의 WebFlux(함수형 엔드포인트) 버전 (ValidationItemApiController 와 같은 검증 규칙)
+ * 요청 본문 읽기, 검증, 응답 쓰기는 이벤트 루프 스레드에서 하고,
+ * 저장(변경 기록 fsync 대기)처럼 블로킹하는 작업만 blockingScheduler 로 넘긴다. -> 이벤트 루프는 막히지 않는다.
+ * 검증에 실패하면 400 과 함께 ValidationErrorResponse 를 돌려준다. (숫자가 아닌 limit, itemId 는 typeMismatch)
+ */
+public class ItemReactiveHandler {
+
+    // 화면(V4)과 같은 오류 코드(totalPriceMin.item 등)를 쓰도록 객체 이름을 맞춘다.
+    private static final String OBJECT_NAME = "item";
+
+    private final ItemRepository itemRepository;
+    private final ItemBulkImporter itemBulkImporter;
+    private final ItemStreamImporter itemStreamImporter;
+    private final SmartValidator validator;
+    private final MessageSource messageSource;
+    private final ValidationMetrics validationMetrics;
+    private final ValidationErrorLogger validationErrorLogger;
+    private final Scheduler blockingScheduler;
+
+    public ItemReactiveHandler(ItemRepository itemRepository, ItemBulkImporter itemBulkImporter, ItemStreamImporter itemStreamImporter,
+                               javax.validation.Validator validator, MessageSource messageSource, ValidationMetrics validationMetrics,
+                               ValidationErrorLogger validationErrorLogger, Scheduler blockingScheduler) {
+        this.itemRepository = itemRepository;
+        this.itemBulkImporter = itemBulkImporter;
+        this.itemStreamImporter = itemStreamImporter;
+        this.validator = new CompiledValidator(new SpringValidatorAdapter(validator));
+        this.messageSource = messageSource;
+        this.validationMetrics = validationMetrics;
+        this.validationErrorLogger = validationErrorLogger;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    /**
+     * 전체 상품을 id 순서대로 흘려보낸다. (Accept: application/x-ndjson 이면 한 줄에 상품 하나)
+     * 클라이언트가 요청한 만큼만 읽으므로 상품이 많아도 메모리에 모으지 않는다.
+     * 예) /validation/api/items?limit=100
+     */
+    public Mono<ServerResponse> items(ServerRequest request) {
+        BindingResult bindingResult = parameterBindingResult();
+        Long limit = longValue(request.queryParam("limit").orElse(null), "limit", bindingResult);
+        if (bindingResult.hasErrors()) {
+            return badRequest(request, bindingResult);
+        }
+
+        Flux<Item> items = Flux.fromStream(itemRepository::streamAll);
+        if (limit != null) {
+            items = items.take(Math.max(0, limit));
+        }
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(mediaType).body(items, Item.class);
+    }
+
+    public Mono<ServerResponse> item(ServerRequest request) {
+        BindingResult bindingResult = parameterBindingResult();
+        Long itemId = itemId(request, bindingResult);
+        if (bindingResult.hasErrors()) {
+            return badRequest(request, bindingResult);
+        }
+
+        Item item = itemRepository.findById(itemId);
+        return item == null
+                ? ServerResponse.notFound().build()
+                : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(item);
+    }
+
+    public Mono<ServerResponse> addItem(ServerRequest request) {
+        return request.bodyToMono(ItemSaveForm.class)
+                .defaultIfEmpty(new ItemSaveForm())
+                .flatMap(form -> {
+                    BindingResult bindingResult = new BeanPropertyBindingResult(form, OBJECT_NAME);
+                    itemBulkImporter.validate(form, bindingResult);
+                    if (bindingResult.hasErrors()) {
+                        return badRequest(request, bindingResult);
+                    }
+
+                    Item item = new Item(form.getItemName(), form.getPrice(), form.getQuantity());
+                    return Mono.fromCallable(() -> itemRepository.save(item))
+                            .subscribeOn(blockingScheduler)
+                            .flatMap(saved -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(saved));
+                });
+    }
+
+    /**
+     * 상품 여러 개를 한 번에 등록한다. (JSON 배열, 검증/저장 방식은 ItemBulkImporter 와 같다)
+     * 본문은 MVC 와 같은 reader(ItemStreamImporter)로 읽으므로 "price":"abc" 같은 타입 오류도 그 상품의 typeMismatch 로 남는다.
+     */
+    public Mono<ServerResponse> addItems(ServerRequest request) {
+        return DataBufferUtils.join(request.body(BodyExtractors.toDataBuffers()))
+                .publishOn(blockingScheduler)
+                .map(this::importAll)
+                .defaultIfEmpty(new ItemImportResult())
+                .flatMap(result -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(result));
+    }
+
+    private ItemImportResult importAll(DataBuffer body) {
+        try (InputStream in = body.asInputStream(true)) {
+            return itemStreamImporter.importAll(in);
+        } catch (JsonProcessingException e) {
+            // 형식이 깨진 본문은 bodyToMono 와 같이 400 으로 돌려준다.
+            throw new ServerWebInputException("JSON 형식 오류: " + e.getOriginalMessage(), null, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 읽을 때 받은 version 과 현재 version 이 다르면 409 와 versionConflict 오류를 돌려준다.
+     */
+    public Mono<ServerResponse> editItem(ServerRequest request) {
+        BindingResult parameterBindingResult = parameterBindingResult();
+        Long itemId = itemId(request, parameterBindingResult);
+        if (parameterBindingResult.hasErrors()) {
+            return badRequest(request, parameterBindingResult);
+        }
+
+        return request.bodyToMono(ItemUpdateForm.class)
+                .defaultIfEmpty(new ItemUpdateForm())
+                .flatMap(form -> {
+                    BindingResult bindingResult = new BeanPropertyBindingResult(form, OBJECT_NAME);
+                    validator.validate(form, bindingResult);
+                    // 특정 필드가 아닌 복합 룰 검증
+                    if (form.getPrice() != null && form.getQuantity() != null) {
+                        long resultPrice = (long) form.getPrice() * form.getQuantity();
+                        if (resultPrice < 10000) {
+                            bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
+                        }
+                    }
+                    if (bindingResult.hasErrors()) {
+                        return badRequest(request, bindingResult);
+                    }
+                    if (itemRepository.findById(itemId) == null) {
+                        return ServerResponse.notFound().build();
+                    }
+
+                    Item itemParam = new Item(form.getItemName(), form.getPrice(), form.getQuantity());
+                    return Mono.fromCallable(() -> itemRepository.update(itemId, itemParam, form.getVersion()))
+                            .subscribeOn(blockingScheduler)
+                            .flatMap(updated -> {
+                                if (updated) {
+                                    return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                                            .bodyValue(itemRepository.findById(itemId));
+                                }
+                                bindingResult.reject("versionConflict");
+                                return errorResponse(request, bindingResult, HttpStatus.CONFLICT);
+                            });
+                });
+    }
+
+    private Mono<ServerResponse> badRequest(ServerRequest request, BindingResult bindingResult) {
+        return errorResponse(request, bindingResult, HttpStatus.BAD_REQUEST);
+    }
+
+    private Mono<ServerResponse> errorResponse(ServerRequest request, BindingResult bindingResult, HttpStatus status) {
+        validationMetrics.record(bindingResult);
+        validationErrorLogger.log(bindingResult);
+        ValidationErrorResponse body = ValidationErrorResponse.of(bindingResult, messageSource, locale(request));
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+
+    // 경로 변수, 쿼리 파라미터용 (필드 타입이 없으므로 오류 코드는 typeMismatch.item.limit, typeMismatch.limit, typeMismatch)
+    private static BindingResult parameterBindingResult() {
+        return new MapBindingResult(new HashMap<>(), OBJECT_NAME);
+    }
+
+    private static Long itemId(ServerRequest request, BindingResult bindingResult) {
+        return longValue(request.pathVariable("itemId"), "itemId", bindingResult);
+    }
+
+    /**
+     * 숫자가 아니면 typeMismatch 필드 오류를 남기고 null 을 돌려준다. 값이 없어도 null
+     */
+    private static Long longValue(String value, String field, BindingResult bindingResult) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            String[] codes = bindingResult.resolveMessageCodes("typeMismatch", field);
+            bindingResult.addError(new FieldError(bindingResult.getObjectName(), field, value, true, codes, null,
+                    "타입이 맞지 않습니다."));
+            return null;
+        }
+    }
+
+    // Accept-Language 기준 (없으면 서버 기본 로케일)
+    private static Locale locale(ServerRequest request) {
+        LocaleContext localeContext = request.exchange().getLocaleContext();
+        Locale locale = localeContext.getLocale();
+        return locale != null ? locale : Locale.getDefault();
+    }
+}
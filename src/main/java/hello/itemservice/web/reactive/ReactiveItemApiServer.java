@@ -0,0 +1,48 @@
+package hello.itemservice.web.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * WebFlux API 전용 Netty 서버
+ * 애플리케이션 본체는 톰캣(Spring MVC)에서 그대로 돌고, 이 서버는 별도 포트에서 적은 수의 이벤트 루프 스레드로 요청을 처리한다.
+ * 스프링 컨텍스트가 시작/종료될 때 함께 시작/종료된다.
+ */
+@Slf4j
+public class ReactiveItemApiServer implements SmartLifecycle {
+
+    private final WebServer webServer;
+    private final LoopResources loopResources;
+    private volatile boolean running;
+
+    public ReactiveItemApiServer(HttpHandler httpHandler, int port, int eventLoopThreads) {
+        int threads = eventLoopThreads > 0 ? eventLoopThreads : Runtime.getRuntime().availableProcessors();
+        this.loopResources = LoopResources.create("item-reactive", threads, true);
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(port);
+        factory.addServerCustomizers(server -> server.runOn(loopResources));
+        this.webServer = factory.getWebServer(httpHandler);
+    }
+
+    @Override
+    public void start() {
+        webServer.start();
+        running = true;
+        log.info("WebFlux 상품 API 시작 port={}", webServer.getPort());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        webServer.stop();
+        loopResources.dispose();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
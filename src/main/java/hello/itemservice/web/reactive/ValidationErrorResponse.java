@@ -0,0 +1,57 @@
+package hello.itemservice.web.reactive;
+
+import lombok.Getter;
+import org.springframework.context.MessageSource;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검증 실패 응답 본문
+ * 예) {"errors":[{"object":"item","field":"price","code":"Range","rejectedValue":10,"message":"가격은 1,000 ~ 1,000,000 까지 허용합니다."}]}
+ * 글로벌 오류는 field, rejectedValue 가 null 이다.
+ */
+@Getter
+public class ValidationErrorResponse {
+
+    private final List<Error> errors;
+
+    private ValidationErrorResponse(List<Error> errors) {
+        this.errors = errors;
+    }
+
+    public static ValidationErrorResponse of(Errors errors, MessageSource messageSource, Locale locale) {
+        List<Error> result = new ArrayList<>(errors.getErrorCount());
+        for (ObjectError error : errors.getAllErrors()) {
+            result.add(new Error(error, messageSource.getMessage(error, locale)));
+        }
+        return new ValidationErrorResponse(result);
+    }
+
+    @Getter
+    public static class Error {
+
+        private final String object;
+        private final String field;
+        private final String code;
+        private final Object rejectedValue;
+        private final String message;
+
+        private Error(ObjectError error, String message) {
+            this.object = error.getObjectName();
+            this.code = error.getCode();
+            this.message = message;
+            if (error instanceof FieldError) {
+                this.field = ((FieldError) error).getField();
+                this.rejectedValue = ((FieldError) error).getRejectedValue();
+            } else {
+                this.field = null;
+                this.rejectedValue = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package hello.itemservice.web.render;
+
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.spring5.dialect.SpringStandardDialect;
+import org.thymeleaf.spring5.expression.SPELVariableExpressionEvaluator;
+import org.thymeleaf.standard.expression.IStandardVariableExpression;
+import org.thymeleaf.standard.expression.IStandardVariableExpressionEvaluator;
+import org.thymeleaf.standard.expression.StandardExpressionExecutionContext;
+
+/**
+ * ${...}, *{...} 식을 평가할 때마다 걸린 시간을 TemplateRenderProfiler 에 남기는 SpringStandardDialect
+ * SpringStandardDialect 는 식 평가기를 바꾸는 setter 를 막아 두었으므로 getter 를 재정의한다.
+ * (식마다 System.nanoTime 을 두 번 부르므로 item.thymeleaf.profile.expressions=true 일 때만 사용한다)
+ * 운영 설정 그대로 재도록 바꾸는 dialect 의 설정(SpEL 컴파일러 등)을 이어받는다.
+ */
+public class ProfilingSpringStandardDialect extends SpringStandardDialect {
+
+    private final IStandardVariableExpressionEvaluator evaluator;
+
+    /**
+     * @param replaced 바꿀 dialect, 스프링 부트가 spring.thymeleaf.* 설정을 이미 넣어 두었다.
+     */
+    public ProfilingSpringStandardDialect(SpringStandardDialect replaced, TemplateRenderProfiler profiler) {
+        this.evaluator = new ProfilingEvaluator(SPELVariableExpressionEvaluator.INSTANCE, profiler);
+        setEnableSpringELCompiler(replaced.getEnableSpringELCompiler());
+        setRenderHiddenMarkersBeforeCheckboxes(replaced.getRenderHiddenMarkersBeforeCheckboxes());
+    }
+
+    @Override
+    public IStandardVariableExpressionEvaluator getVariableExpressionEvaluator() {
+        return evaluator;
+    }
+
+    private static final class ProfilingEvaluator implements IStandardVariableExpressionEvaluator {
+
+        private final IStandardVariableExpressionEvaluator delegate;
+        private final TemplateRenderProfiler profiler;
+
+        private ProfilingEvaluator(IStandardVariableExpressionEvaluator delegate, TemplateRenderProfiler profiler) {
+            this.delegate = delegate;
+            this.profiler = profiler;
+        }
+
+        @Override
+        public Object evaluate(IExpressionContext context, IStandardVariableExpression expression,
+                               StandardExpressionExecutionContext expContext) {
+            long start = System.nanoTime();
+            try {
+                return delegate.evaluate(context, expression, expContext);
+            } finally {
+                String template = context instanceof ITemplateContext
+                        ? ((ITemplateContext) context).getTemplateData().getTemplate()
+                        : "unknown";
+                String prefix = expression.getUseSelectionAsRoot() ? "*{" : "${";
+                profiler.recordExpression(template, prefix + expression.getExpression() + "}", System.nanoTime() - start);
+            }
+        }
+    }
+}
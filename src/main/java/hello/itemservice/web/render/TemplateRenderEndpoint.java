@@ -0,0 +1,31 @@
+package hello.itemservice.web.render;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * 렌더링 시간 조회 (/actuator/templates?limit=50), DELETE 로 표현식 통계를 비운다.
+ */
+@Endpoint(id = "templates")
+public class TemplateRenderEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final TemplateRenderProfiler profiler;
+
+    public TemplateRenderEndpoint(TemplateRenderProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public TemplateRenderProfiler.Report report(@Nullable Integer limit) {
+        return profiler.report(limit == null ? DEFAULT_LIMIT : limit);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        profiler.reset();
+    }
+}
@@ -0,0 +1,45 @@
+package hello.itemservice.web.render;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 컨트롤러가 돌려준 뷰(템플릿)의 렌더링 시간을 잰다.
+ * DispatcherServlet 은 postHandle 다음에 뷰를 렌더링하고 afterCompletion 을 부르므로 그 사이가 렌더링 시간이다.
+ * redirect:, forward: 처럼 템플릿이 아닌 뷰는 재지 않는다. (WebConfig 에서 인터셉터로 등록한다)
+ */
+public class TemplateRenderInterceptor implements HandlerInterceptor {
+
+    private static final String TEMPLATE = TemplateRenderInterceptor.class.getName() + ".TEMPLATE";
+    private static final String STARTED = TemplateRenderInterceptor.class.getName() + ".STARTED";
+
+    private final TemplateRenderProfiler profiler;
+
+    public TemplateRenderInterceptor(TemplateRenderProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        if (modelAndView == null || !modelAndView.isReference()) {
+            return;
+        }
+        String viewName = modelAndView.getViewName();
+        if (viewName.startsWith("redirect:") || viewName.startsWith("forward:")) {
+            return;
+        }
+        request.setAttribute(TEMPLATE, viewName);
+        request.setAttribute(STARTED, System.nanoTime());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        String template = (String) request.getAttribute(TEMPLATE);
+        if (template != null) {
+            profiler.recordTemplate(template, System.nanoTime() - (Long) request.getAttribute(STARTED));
+        }
+    }
+}
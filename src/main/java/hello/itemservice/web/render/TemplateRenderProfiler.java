@@ -0,0 +1,169 @@
+package hello.itemservice.web.render;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 타임리프 렌더링 시간 측정
+ *  - 템플릿 : 타이머 thymeleaf.render (태그 template), TemplateRenderInterceptor 가 기록한다.
+ *  - 표현식 : (템플릿, ${...} 식) 마다 호출 수와 누적 시간, ProfilingSpringStandardDialect.ProfilingEvaluator 가 기록한다.
+ * 표현식 통계는 /actuator/templates 에서 누적 시간이 큰 순서로 볼 수 있다.
+ * 템플릿과 표현식은 코드에 정해진 값이라 조합이 많지 않지만, 혹시 모를 경우를 위해 MAX_EXPRESSIONS 개까지만 모은다.
+ */
+public class TemplateRenderProfiler {
+
+    static final String RENDER = "thymeleaf.render";
+    static final int MAX_EXPRESSIONS = 10_000;
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, Timer> templateTimers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ExpressionKey, Stats> expressions = new ConcurrentHashMap<>();
+
+    public TemplateRenderProfiler(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordTemplate(String template, long nanos) {
+        Timer timer = templateTimers.get(template);
+        if (timer == null) {
+            timer = templateTimers.computeIfAbsent(template, t -> Timer.builder(RENDER)
+                    .description("타임리프 템플릿 렌더링 시간")
+                    .tag("template", t)
+                    .register(registry));
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordExpression(String template, String expression, long nanos) {
+        ExpressionKey key = new ExpressionKey(template, expression);
+        Stats stats = expressions.get(key);
+        if (stats == null) {
+            if (expressions.size() >= MAX_EXPRESSIONS) {
+                return;
+            }
+            stats = expressions.computeIfAbsent(key, k -> new Stats());
+        }
+        stats.count.increment();
+        stats.totalNanos.add(nanos);
+    }
+
+    /**
+     * @return 템플릿별 렌더링 시간과 누적 시간이 큰 순서의 표현식 limit 개
+     */
+    public Report report(int limit) {
+        List<TemplateStats> templates = new ArrayList<>();
+        for (Map.Entry<String, Timer> entry : templateTimers.entrySet()) {
+            Timer timer = entry.getValue();
+            templates.add(new TemplateStats(entry.getKey(), timer.count(),
+                    timer.totalTime(TimeUnit.MICROSECONDS), timer.mean(TimeUnit.MICROSECONDS), timer.max(TimeUnit.MICROSECONDS)));
+        }
+        templates.sort(Comparator.comparingDouble(TemplateStats::getTotalMicros).reversed());
+
+        List<ExpressionStats> result = new ArrayList<>();
+        for (Map.Entry<ExpressionKey, Stats> entry : expressions.entrySet()) {
+            long count = entry.getValue().count.sum();
+            long totalNanos = entry.getValue().totalNanos.sum();
+            result.add(new ExpressionStats(entry.getKey().template, entry.getKey().expression, count,
+                    totalNanos / 1000.0, count == 0 ? 0 : totalNanos / 1000.0 / count));
+        }
+        result.sort(Comparator.comparingDouble(ExpressionStats::getTotalMicros).reversed());
+        return new Report(templates, result.subList(0, Math.min(limit, result.size())));
+    }
+
+    public void reset() {
+        expressions.clear();
+    }
+
+    @Getter
+    public static class Report {
+
+        private final List<TemplateStats> templates;
+        private final List<ExpressionStats> expressions;
+
+        private Report(List<TemplateStats> templates, List<ExpressionStats> expressions) {
+            this.templates = templates;
+            this.expressions = expressions;
+        }
+    }
+
+    @Getter
+    public static class TemplateStats {
+
+        private final String template;
+        private final long count;
+        private final double totalMicros;
+        private final double meanMicros;
+        private final double maxMicros;
+
+        private TemplateStats(String template, long count, double totalMicros, double meanMicros, double maxMicros) {
+            this.template = template;
+            this.count = count;
+            this.totalMicros = totalMicros;
+            this.meanMicros = meanMicros;
+            this.maxMicros = maxMicros;
+        }
+    }
+
+    @Getter
+    public static class ExpressionStats {
+
+        private final String template;
+        private final String expression;
+        private final long count;
+        private final double totalMicros;
+        private final double meanMicros;
+
+        private ExpressionStats(String template, String expression, long count, double totalMicros, double meanMicros) {
+            this.template = template;
+            this.expression = expression;
+            this.count = count;
+            this.totalMicros = totalMicros;
+            this.meanMicros = meanMicros;
+        }
+    }
+
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+    }
+
+    private static final class ExpressionKey {
+
+        private final String template;
+        private final String expression;
+        private final int hash;
+
+        private ExpressionKey(String template, String expression) {
+            this.template = template;
+            this.expression = expression;
+            this.hash = Objects.hash(template, expression);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ExpressionKey)) {
+                return false;
+            }
+            ExpressionKey other = (ExpressionKey) o;
+            return Objects.equals(template, other.template) && Objects.equals(expression, other.expression);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
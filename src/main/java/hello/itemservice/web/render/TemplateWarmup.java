@@ -0,0 +1,189 @@
+package hello.itemservice.web.render;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPageRequest;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.boot.web.server.Ssl;
+import org.springframework.context.ApplicationListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 시작할 때 모든 상품 화면(v1 ~ v4)을 자기 자신에게 요청해서 미리 렌더링한다.
+ * 타임리프는 템플릿을 처음 쓸 때 읽어서 파싱하고, ${...} 식도 처음 평가할 때 SpEL 로 파싱(컴파일)해서 캐시한다.
+ * -> 첫 사용자 요청이 이 비용을 내지 않도록 준비 완료(readiness) 전에 한 번씩 거치게 한다.
+ *
+ * 등록/수정 폼은 모든 버전(v1 ~ v4)의 검증에 걸리는 값을 보내 검증 오류 화면(#fields.hasErrors, th:errors)까지 렌더링한다.
+ *  - v3 는 필드 검증이 없고 가격 * 수량 합계(totalPriceMin)만 확인하므로, 합계도 최소값보다 작게 보낸다.
+ *  - 수정 폼은 있을 수 없는 version(0)을 함께 보내서, 검증을 통과하더라도 동시 수정 확인(versionConflict)에 걸려 저장되지 않게 한다.
+ *  - 검증 오류 화면은 200 으로 렌더링되므로, 2xx 가 아닌 응답(저장 후 redirect 등)은 실패로 세고 경고를 남긴다.
+ * 워밍업 요청에는 시작할 때 만든 토큰을 WARMUP_HEADER 로 붙인다. TemplateWarmupFilter 가 토큰을 확인해 WARMUP_ATTRIBUTE 를 남기고,
+ * 검증 오류 지표(ValidationMetrics)와 로그(ValidationErrorLogger)는 isWarmupRequest() 로 워밍업 요청을 건너뛴다.
+ * 요청 주소는 서버 설정(server.ssl.enabled, server.servlet.context-path)을 따른다.
+ */
+@Slf4j
+public class TemplateWarmup implements ApplicationListener<ApplicationReadyEvent> {
+
+    public static final String WARMUP_HEADER = "X-Template-Warmup";
+    public static final String WARMUP_ATTRIBUTE = TemplateWarmup.class.getName() + ".WARMUP";
+
+    private static final int[] VERSIONS = {1, 2, 3, 4};
+    // 검증 오류 화면을 만들기 위한 값 (상품명 없음, 가격 범위 오류, 가격 * 수량 합계 최소값 오류)
+    // 타입 오류는 BindingResult 가 없는 v1 에서 400 이 되므로 쓰지 않는다.
+    static final String INVALID_FORM = "itemName=&price=1&quantity=1";
+    // 저장된 상품의 version 은 1 부터 시작한다.
+    private static final int CONFLICTING_VERSION = 0;
+
+    private final ItemRepository itemRepository;
+    private final ServerProperties serverProperties;
+    private final int rounds;
+    // 외부 요청이 워밍업 헤더를 흉내 내지 못하도록 서버가 뜰 때마다 새로 만든다.
+    private final String token = UUID.randomUUID().toString();
+    private volatile int sent;
+    private volatile int failed;
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public TemplateWarmup(ItemRepository itemRepository, ServerProperties serverProperties, int rounds) {
+        this.itemRepository = itemRepository;
+        this.serverProperties = serverProperties;
+        this.rounds = rounds;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        // 서버 없이 뜬 경우 (테스트의 MockMvc 환경 등)
+        if (!(event.getApplicationContext() instanceof WebServerApplicationContext)) {
+            return;
+        }
+        int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        // 설정값보다 실제로 올라간 서블릿 컨텍스트의 경로를 쓴다.
+        String contextPath = event.getApplicationContext() instanceof ServletWebServerApplicationContext
+                ? ((ServletWebServerApplicationContext) event.getApplicationContext()).getServletContext().getContextPath()
+                : serverProperties.getServlet().getContextPath();
+        List<HttpRequest> requests = requests(baseUrl(serverProperties.getSsl(), port, contextPath));
+
+        long started = System.nanoTime();
+        int failedRequests = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (HttpRequest request : requests) {
+                if (!send(request)) {
+                    failedRequests++;
+                }
+            }
+        }
+        sent = requests.size() * rounds;
+        failed = failedRequests;
+        log.info("템플릿 워밍업 requests={}, failed={}, elapsed={}ms",
+                sent, failed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * 지금 처리 중인 요청이 워밍업 요청인지 (요청 스레드가 아니면 false)
+     */
+    public static boolean isWarmupRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(WARMUP_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    /**
+     * @param headerValue 요청의 WARMUP_HEADER 값
+     */
+    public boolean isWarmupToken(String headerValue) {
+        return headerValue != null
+                && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), headerValue.getBytes(StandardCharsets.UTF_8));
+    }
+
+    String token() {
+        return token;
+    }
+
+    int sentRequests() {
+        return sent;
+    }
+
+    int failedRequests() {
+        return failed;
+    }
+
+    static String baseUrl(Ssl ssl, int port, String contextPath) {
+        String scheme = ssl != null && ssl.isEnabled() ? "https" : "http";
+        return scheme + "://localhost:" + port + (contextPath == null ? "" : contextPath);
+    }
+
+    private List<HttpRequest> requests(String baseUrl) {
+        List<Item> items = itemRepository.findPage(ItemPageRequest.of(null, 1, ItemPageRequest.Direction.ASC)).getContent();
+        Item item = items.isEmpty() ? null : items.get(0);
+
+        List<HttpRequest> requests = new ArrayList<>();
+        for (int version : VERSIONS) {
+            String base = baseUrl + "/validation/v" + version + "/items";
+            requests.add(get(base));
+            requests.add(get(base + "/add"));
+            requests.add(post(base + "/add", INVALID_FORM));
+            if (item != null) {
+                requests.add(get(base + "/" + item.getId()));
+                requests.add(get(base + "/" + item.getId() + "/edit"));
+                // v1, v2 수정은 검증 없이 바로 저장하므로 오류 화면이 없다.
+                if (version >= 3) {
+                    requests.add(post(base + "/" + item.getId() + "/edit",
+                            INVALID_FORM + "&id=" + item.getId() + "&version=" + CONFLICTING_VERSION));
+                }
+            }
+        }
+        return requests;
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status / 100 != 2) {
+                // 검증 오류 화면이 아니라 redirect 면 저장(수정)된 것이다.
+                log.warn("템플릿 워밍업 응답 오류 method={}, uri={}, status={}", request.method(), request.uri(), status);
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("템플릿 워밍업 실패 uri={}", request.uri(), e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header(WARMUP_HEADER, token)
+                .timeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    private HttpRequest post(String uri, String form) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header(WARMUP_HEADER, token)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+    }
+}
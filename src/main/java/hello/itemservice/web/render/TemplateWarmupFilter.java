@@ -0,0 +1,32 @@
+package hello.itemservice.web.render;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * TemplateWarmup 이 보낸 요청이면 요청 속성(TemplateWarmup.WARMUP_ATTRIBUTE)을 남긴다.
+ * 헤더 값이 워밍업을 시작할 때 만든 토큰과 같을 때만 남기므로, 외부 요청이 헤더를 붙여도 워밍업으로 취급되지 않는다.
+ * (검증 오류 지표와 로그는 이 속성이 있는 요청을 건너뛴다)
+ */
+public class TemplateWarmupFilter extends OncePerRequestFilter {
+
+    private final TemplateWarmup templateWarmup;
+
+    public TemplateWarmupFilter(TemplateWarmup templateWarmup) {
+        this.templateWarmup = templateWarmup;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (templateWarmup.isWarmupToken(request.getHeader(TemplateWarmup.WARMUP_HEADER))) {
+            request.setAttribute(TemplateWarmup.WARMUP_ATTRIBUTE, Boolean.TRUE);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
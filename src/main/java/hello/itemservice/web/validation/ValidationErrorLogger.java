@@ -0,0 +1,172 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.render.TemplateWarmup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 검증 실패 로그
+ * BindingResult.toString() 대신 오류마다 "필드:오류코드[거절된 값]" 만 한 줄로 남긴다.
+ *  예) 검증 실패 object=item errors=itemName:NotBlank[ ] price:Range[10] global:totalPriceMin suppressed=Range:120
+ *
+ * 오류 코드마다 초당 item.validation.log.permits-per-second 건까지만 남기고, 넘친 건수는 오류 코드별로 세어 둔다.
+ * 세어 둔 건수는 같은 오류 코드가 다음에 로그로 남을 때 suppressed 에 "코드:건수" 로 함께 알린다.
+ * (그 오류 코드가 다시 로그로 남지 않으면 마지막으로 세어 둔 건수는 알리지 못한다)
+ * -> 잘못된 요청이 몰려도 로그 양과 문자열을 만드는 비용이 일정하다. (한도를 넘은 요청은 문자열을 만들지 않는다)
+ * 시작할 때 템플릿을 준비하려고 보낸 요청(TemplateWarmup)의 검증 실패는 남기지 않는다.
+ */
+@Slf4j
+@Component
+public class ValidationErrorLogger {
+
+    private static final int MAX_VALUE_LENGTH = 32;
+    private static final String GLOBAL = "global";
+
+    private final int permitsPerSecond;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, RateWindow> windows = new ConcurrentHashMap<>();
+
+    public ValidationErrorLogger(@Value("${item.validation.log.permits-per-second:10}") int permitsPerSecond) {
+        this(permitsPerSecond, System::currentTimeMillis);
+    }
+
+    ValidationErrorLogger(int permitsPerSecond, LongSupplier clock) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.clock = clock;
+    }
+
+    public void log(Errors errors) {
+        if (!log.isInfoEnabled() || !errors.hasErrors() || TemplateWarmup.isWarmupRequest()) {
+            return;
+        }
+        String line = line(errors);
+        if (line != null) {
+            log.info("검증 실패 {}", line);
+        }
+    }
+
+    /**
+     * BindingResult 없이 직접 검증하는 컨트롤러(V1)용, 오류 하나를 같은 형식과 한도로 남긴다.
+     * @param field 필드 이름, 글로벌 오류는 null
+     */
+    public void log(String objectName, String field, String code, Object rejectedValue) {
+        if (!log.isInfoEnabled() || TemplateWarmup.isWarmupRequest()) {
+            return;
+        }
+        String line = line(objectName, field, code, rejectedValue);
+        if (line != null) {
+            log.info("검증 실패 {}", line);
+        }
+    }
+
+    String line(String objectName, String field, String code, Object rejectedValue) {
+        String[] codes = {code};
+        ObjectError error = field == null
+                ? new ObjectError(objectName, codes, null, null)
+                : new FieldError(objectName, field, rejectedValue, false, codes, null, null);
+        return line(objectName, List.of(error));
+    }
+
+    /**
+     * @return 남길 로그 한 줄, 모든 오류가 한도를 넘었으면 null
+     */
+    String line(Errors errors) {
+        return line(errors.getObjectName(), errors.getAllErrors());
+    }
+
+    private String line(String objectName, List<ObjectError> errors) {
+        StringBuilder line = null;
+        StringBuilder dropped = null;
+        for (ObjectError error : errors) {
+            RateWindow window = windowFor(error.getCode());
+            if (!window.tryAcquire(clock.getAsLong() / 1000, permitsPerSecond)) {
+                window.suppressed.incrementAndGet();
+                continue;
+            }
+            if (line == null) {
+                line = new StringBuilder(128).append("object=").append(objectName).append(" errors=");
+            } else {
+                line.append(' ');
+            }
+            append(line, error);
+
+            long count = window.suppressed.getAndSet(0);
+            if (count > 0) {
+                dropped = dropped == null ? new StringBuilder() : dropped.append(',');
+                dropped.append(error.getCode()).append(':').append(count);
+            }
+        }
+
+        if (line == null) {
+            return null;
+        }
+        if (dropped != null) {
+            line.append(" suppressed=").append(dropped);
+        }
+        return line.toString();
+    }
+
+    private static void append(StringBuilder line, ObjectError error) {
+        if (!(error instanceof FieldError)) {
+            line.append(GLOBAL).append(':').append(error.getCode());
+            return;
+        }
+        FieldError fieldError = (FieldError) error;
+        line.append(fieldError.getField()).append(':').append(error.getCode()).append('[');
+        Object rejectedValue = fieldError.getRejectedValue();
+        if (rejectedValue != null) {
+            String value = rejectedValue.toString();
+            int length = Math.min(value.length(), MAX_VALUE_LENGTH);
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                // 사용자 입력이므로 줄바꿈 등 제어 문자로 로그 줄을 나누지 못하게 한다.
+                line.append(Character.isISOControl(c) ? '?' : c);
+            }
+            if (value.length() > MAX_VALUE_LENGTH) {
+                line.append("...");
+            }
+        }
+        line.append(']');
+    }
+
+    private RateWindow windowFor(String code) {
+        String key = code == null ? "" : code;
+        RateWindow window = windows.get(key);
+        if (window == null) {
+            window = windows.computeIfAbsent(key, k -> new RateWindow());
+        }
+        return window;
+    }
+
+    /**
+     * 1초 단위 고정 창 카운터와 한도를 넘어 남기지 못한 건수
+     */
+    private static final class RateWindow {
+
+        private volatile long second;
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        boolean tryAcquire(long now, int permits) {
+            if (second != now) {
+                synchronized (this) {
+                    if (second != now) {
+                        count.set(0);
+                        second = now;
+                    }
+                }
+            }
+            return count.incrementAndGet() <= permits;
+        }
+    }
+}
@@ -1,30 +1,132 @@
 package hello.itemservice.web.validation;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPageRequest;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
+import hello.itemservice.web.validation.bulk.ItemExporter;
+import hello.itemservice.web.validation.bulk.ItemImportResult;
+import hello.itemservice.web.validation.bulk.ItemStreamImporter;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/validation/api/items")
+@RequiredArgsConstructor
 public class ValidationItemApiController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ItemRepository itemRepository;
+    private final ValidationErrorLogger validationErrorLogger;
+    private final ItemStreamImporter itemStreamImporter;
+    private final ItemExporter itemExporter;
+
     @PostMapping("/add")
     public Object addItem(@RequestBody @Validated ItemSaveForm form, BindingResult bindingResult) {
 
         log.info("API 컨트롤러 호출");
 
         if (bindingResult.hasErrors()) {
-            log.info("검증 오류 발생 errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return bindingResult.getAllErrors();
         }
 
         log.info("성공 로직 실행");
-        return form;
+        Item item = new Item();
+        item.setItemName(form.getItemName());
+        item.setPrice(form.getPrice());
+        item.setQuantity(form.getQuantity());
+        return itemRepository.save(item);
+    }
+
+    /**
+     * 상품 여러 개를 한 번에 등록한다. (JSON 배열)
+     * 상품마다 따로 검증해서, 통과한 상품은 저장하고 실패한 상품은 위치(index)와 오류를 돌려준다.
+     * 본문은 NDJSON 과 같은 reader(ItemStreamImporter)로 읽으므로 "price":"abc" 같은 타입 오류도 그 상품의 typeMismatch 로 남는다.
+     */
+    @PostMapping("/bulk")
+    public ItemImportResult addItems(HttpServletRequest request) throws IOException {
+        ItemImportResult result;
+        try {
+            result = itemStreamImporter.importAll(request.getInputStream());
+        } catch (JsonProcessingException e) {
+            // 형식이 깨진 본문은 @RequestBody 와 같이 400 으로 돌려준다.
+            throw new HttpMessageNotReadableException("JSON 형식 오류: " + e.getOriginalMessage(), e, new ServletServerHttpRequest(request));
+        }
+        log.info("대량 등록 total={}, saved={}, failed={}", result.getTotal(), result.getSaved(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * NDJSON(한 줄에 상품 하나)으로 올린 상품을 읽는 대로 검증, 저장하고 결과도 한 줄씩 내려준다.
+     * 예) curl -H 'Content-Type: application/x-ndjson' --data-binary @items.ndjson /validation/api/items/bulk
+     */
+    @PostMapping(value = "/bulk", consumes = NDJSON, produces = NDJSON)
+    public void addItemsStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        ItemImportResult result = itemStreamImporter.importAll(request.getInputStream(), response.getOutputStream());
+        log.info("스트리밍 대량 등록 total={}, saved={}, failed={}", result.getTotal(), result.getSaved(), result.getFailed());
+    }
+
+    /**
+     * 전체 상품을 내려받는다. 저장소에서 읽는 대로 chunked 로 내보낸다.
+     * 예) /validation/api/items/export?format=csv&compression=gzip (format: json, csv, binary / compression: none, gzip)
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "json") String format,
+                       @RequestParam(defaultValue = "none") String compression,
+                       HttpServletResponse response) throws IOException {
+        ItemExporter.Format exportFormat = ItemExporter.Format.of(format);
+        ItemExporter.Compression exportCompression = ItemExporter.Compression.of(compression);
+        if (exportFormat == null || exportCompression == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "지원하지 않는 형식입니다: " + format + ", " + compression);
+            return;
+        }
+
+        String filename = "items." + exportFormat.getExtension() + exportCompression.getExtension();
+        if (exportCompression == ItemExporter.Compression.GZIP) {
+            // 파일 그대로 내려받도록 Content-Encoding 이 아닌 gzip 파일로 보낸다.
+            response.setContentType("application/gzip");
+        } else {
+            response.setContentType(exportFormat.getContentType());
+            if (exportFormat != ItemExporter.Format.BINARY) {
+                response.setCharacterEncoding("UTF-8");
+            }
+        }
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+
+        long started = System.nanoTime();
+        long count = itemExporter.export(exportFormat, exportCompression, response.getOutputStream());
+        log.info("상품 내보내기 file={}, count={}, elapsed={}ms", filename, count, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * 예) /validation/api/items/search?itemName=item&minPrice=1000&maxPrice=20000&size=20
+     */
+    @GetMapping("/search")
+    public List<Item> search(@ModelAttribute ItemSearchCond cond,
+                             @RequestParam(defaultValue = "20") int size) {
+        return itemRepository.search(cond, Math.max(1, Math.min(size, ItemPageRequest.MAX_SIZE)));
     }
 }
@@ -1,9 +1,12 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemPageRequest;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
+import hello.itemservice.web.metrics.ValidationMetrics;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
@@ -14,18 +17,30 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-@Slf4j
 @Controller
 @RequestMapping("/validation/v1/items")
 @RequiredArgsConstructor
 public class ValidationItemControllerV1 {
 
     private final ItemRepository itemRepository;
+    private final ValidationMetrics validationMetrics;
+    private final ValidationErrorLogger validationErrorLogger;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@ModelAttribute("pageRequest") ItemPageRequest pageRequest, Model model) {
+        ItemPage page = itemRepository.findPage(pageRequest);
+        model.addAttribute("items", page.getContent());
+        model.addAttribute("page", page);
+        model.addAttribute("itemSearch", new ItemSearchCond());
+        return "validation/v1/items";
+    }
+
+    @GetMapping("/search")
+    public String search(@ModelAttribute("itemSearch") ItemSearchCond cond,
+                         @ModelAttribute("pageRequest") ItemPageRequest pageRequest, Model model) {
+        List<Item> items = itemRepository.search(cond, pageRequest.getPageSize());
         model.addAttribute("items", items);
+        model.addAttribute("page", new ItemPage(items, null));
         return "validation/v1/items";
     }
 
@@ -84,7 +99,7 @@ public class ValidationItemControllerV1 {
 
         // 검증에 실패하면 다시 입력 폼으로
         if (!errors.isEmpty()) {
-            log.info("errors={}", errors);
+            reportErrors(item, errors);
             model.addAttribute("errors", errors);
             return "validation/v1/addForm";
         }
@@ -109,5 +124,29 @@ public class ValidationItemControllerV1 {
         return "redirect:/validation/v1/items/{itemId}";
     }
 
+    // V1 은 BindingResult 를 쓰지 않으므로 V2 이후와 같은 오류 코드로 직접 세고 로그를 남긴다.
+    private void reportErrors(Item item, Map<String, String> errors) {
+        for (String field : errors.keySet()) {
+            switch (field) {
+                case "itemName":
+                    reportError(field, "required", item.getItemName());
+                    break;
+                case "price":
+                    reportError(field, "range", item.getPrice());
+                    break;
+                case "quantity":
+                    reportError(field, "max", item.getQuantity());
+                    break;
+                default:
+                    reportError(null, "totalPriceMin", null);
+            }
+        }
+    }
+
+    private void reportError(String field, String code, Object rejectedValue) {
+        validationMetrics.record("item", field, code);
+        validationErrorLogger.log("item", field, code, rejectedValue);
+    }
+
 }
 
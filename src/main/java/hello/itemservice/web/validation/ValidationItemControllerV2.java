@@ -1,7 +1,10 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemPageRequest;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -25,17 +28,30 @@ public class ValidationItemControllerV2 {
 
     private final ItemRepository itemRepository;
     private final ItemValidator itemValidator;
+    private final ValidationErrorLogger validationErrorLogger;
 
     // WebDataBinder : 스프링의 파라미터 바인딩의 역할을 해주고 검증 기능도 내부에 포함한다.
-    @InitBinder
+    // "item" 바인딩에만 적용한다. (목록 조회 조건 같은 다른 @ModelAttribute 에는 itemValidator 를 붙이면 안된다)
+    @InitBinder("item")
     public void init(WebDataBinder dataBinder) {
         dataBinder.addValidators(itemValidator);
     }
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@ModelAttribute("pageRequest") ItemPageRequest pageRequest, Model model) {
+        ItemPage page = itemRepository.findPage(pageRequest);
+        model.addAttribute("items", page.getContent());
+        model.addAttribute("page", page);
+        model.addAttribute("itemSearch", new ItemSearchCond());
+        return "validation/v2/items";
+    }
+
+    @GetMapping("/search")
+    public String search(@ModelAttribute("itemSearch") ItemSearchCond cond,
+                         @ModelAttribute("pageRequest") ItemPageRequest pageRequest, Model model) {
+        List<Item> items = itemRepository.search(cond, pageRequest.getPageSize());
         model.addAttribute("items", items);
+        model.addAttribute("page", new ItemPage(items, null));
         return "validation/v2/items";
     }
 
@@ -93,7 +109,7 @@ public class ValidationItemControllerV2 {
 
         // 검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v2/addForm";
         }
 
@@ -145,7 +161,7 @@ public class ValidationItemControllerV2 {
 
         // 검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v2/addForm";
         }
 
@@ -198,7 +214,7 @@ public class ValidationItemControllerV2 {
 
         // 검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v2/addForm";
         }
 
@@ -226,7 +242,7 @@ public class ValidationItemControllerV2 {
 
         // 가격에 숫자가 아닌 값을 넣었을 때 '숫자를 입력하세요' 메시지만 보일 수 있도록 설정
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v2/addForm";
         }
 
@@ -259,7 +275,7 @@ public class ValidationItemControllerV2 {
 
         // 검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v2/addForm";
         }
 
@@ -285,7 +301,7 @@ public class ValidationItemControllerV2 {
 
         // 검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v2/addForm";
         }
 
@@ -293,7 +309,7 @@ public class ValidationItemControllerV2 {
 
         // 검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v2/addForm";
         }
 
@@ -319,7 +335,7 @@ public class ValidationItemControllerV2 {
     public String addItemV6(@Validated @ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes, Model model) {
         // 검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v2/addForm";
         }
 
@@ -1,11 +1,13 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemPageRequest;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
@@ -19,18 +21,29 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
 
-@Slf4j
 @Controller
 @RequestMapping("/validation/v3/items")
 @RequiredArgsConstructor
 public class ValidationItemControllerV3 {
 
     private final ItemRepository itemRepository;
+    private final ValidationErrorLogger validationErrorLogger;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@ModelAttribute("pageRequest") ItemPageRequest pageRequest, Model model) {
+        ItemPage page = itemRepository.findPage(pageRequest);
+        model.addAttribute("items", page.getContent());
+        model.addAttribute("page", page);
+        model.addAttribute("itemSearch", new ItemSearchCond());
+        return "validation/v3/items";
+    }
+
+    @GetMapping("/search")
+    public String search(@ModelAttribute("itemSearch") ItemSearchCond cond,
+                         @ModelAttribute("pageRequest") ItemPageRequest pageRequest, Model model) {
+        List<Item> items = itemRepository.search(cond, pageRequest.getPageSize());
         model.addAttribute("items", items);
+        model.addAttribute("page", new ItemPage(items, null));
         return "validation/v3/items";
     }
 
@@ -60,7 +73,7 @@ public class ValidationItemControllerV3 {
 
         // 검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v3/addForm";
         }
 
@@ -84,7 +97,7 @@ public class ValidationItemControllerV3 {
 
         // 검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v3/addForm";
         }
 
@@ -116,7 +129,7 @@ public class ValidationItemControllerV3 {
         }
 
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v3/editForm";
         }
 
@@ -136,13 +149,31 @@ public class ValidationItemControllerV3 {
         }
 
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v3/editForm";
         }
 
-        itemRepository.update(itemId, item);
+        // version 없이 보내면 비교 없이 덮어쓰게 되므로 충돌로 본다.
+        if (item.getVersion() == null || !itemRepository.update(itemId, item, item.getVersion())) {
+            bindingResult.reject("versionConflict");
+            validationErrorLogger.log(bindingResult);
+            reloadCurrent(itemId, item);
+            return "validation/v3/editForm";
+        }
         return "redirect:/validation/v3/items/{itemId}";
     }
 
+    // 폼을 현재 상품 값과 version 으로 바꿔서, 확인한 뒤 다시 보내면 저장되게 한다.
+    private void reloadCurrent(Long itemId, Item item) {
+        Item current = itemRepository.findById(itemId);
+        if (current == null) {
+            return;
+        }
+        item.setItemName(current.getItemName());
+        item.setPrice(current.getPrice());
+        item.setQuantity(current.getQuantity());
+        item.setVersion(current.getVersion());
+    }
+
 }
 
@@ -1,13 +1,15 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemPageRequest;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import hello.itemservice.web.validation.form.ItemUpdateForm;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -17,7 +19,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
 
-@Slf4j
 @Controller
 @RequestMapping("/validation/v4/items")
 @RequiredArgsConstructor
@@ -25,11 +26,38 @@ public class ValidationItemControllerV4 {
     // 실무에서는 이 방법을 많이들 사용한다고 한다!
 
     private final ItemRepository itemRepository;
+    private final ValidationErrorLogger validationErrorLogger;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@ModelAttribute("pageRequest") ItemPageRequest pageRequest, Model model) {
+        ItemPage page = itemRepository.findPage(pageRequest);
+        model.addAttribute("items", page.getContent());
+        model.addAttribute("page", page);
+        model.addAttribute("itemSearch", new ItemSearchCond());
+        return "validation/v4/items";
+    }
+
+    /**
+     * 전체 상품을 한 화면에 보여준다.
+     * 목록을 만들지 않고 Iterator 를 넘겨서, 타임리프가 한 줄씩 렌더링하는 대로 chunked 로 내보낸다.
+     * (spring.thymeleaf.servlet.produce-partial-output-while-processing 기본값 true)
+     * -> 상품 수와 관계없이 첫 바이트까지의 시간과 메모리 사용량이 일정하다.
+     */
+    @GetMapping("/all")
+    public String allItems(Model model) {
+        model.addAttribute("items", itemRepository.streamAll().iterator());
+        return "validation/v4/allItems";
+    }
+
+    /**
+     * 이름 prefix, 가격/수량 범위로 검색한다. (보조 인덱스 사용)
+     */
+    @GetMapping("/search")
+    public String search(@ModelAttribute("itemSearch") ItemSearchCond cond,
+                         @ModelAttribute("pageRequest") ItemPageRequest pageRequest, Model model) {
+        List<Item> items = itemRepository.search(cond, pageRequest.getPageSize());
         model.addAttribute("items", items);
+        model.addAttribute("page", new ItemPage(items, null));
         return "validation/v4/items";
     }
 
@@ -59,7 +87,7 @@ public class ValidationItemControllerV4 {
 
         // 검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v4/addForm";
         }
 
@@ -95,7 +123,7 @@ public class ValidationItemControllerV4 {
         }
 
         if (bindingResult.hasErrors()) {
-            log.info("errors={}", bindingResult);
+            validationErrorLogger.log(bindingResult);
             return "validation/v4/editForm";
         }
 
@@ -104,9 +132,26 @@ public class ValidationItemControllerV4 {
         itemParam.setPrice(form.getPrice());
         itemParam.setQuantity(form.getQuantity());
 
-        itemRepository.update(itemId, itemParam);
+        if (!itemRepository.update(itemId, itemParam, form.getVersion())) {
+            bindingResult.reject("versionConflict");
+            validationErrorLogger.log(bindingResult);
+            reloadCurrent(itemId, form);
+            return "validation/v4/editForm";
+        }
         return "redirect:/validation/v4/items/{itemId}";
     }
 
+    // 폼을 현재 상품 값과 version 으로 바꿔서, 확인한 뒤 다시 보내면 저장되게 한다.
+    private void reloadCurrent(Long itemId, ItemUpdateForm form) {
+        Item current = itemRepository.findById(itemId);
+        if (current == null) {
+            return;
+        }
+        form.setItemName(current.getItemName());
+        form.setPrice(current.getPrice());
+        form.setQuantity(current.getQuantity());
+        form.setVersion(current.getVersion());
+    }
+
 }
 
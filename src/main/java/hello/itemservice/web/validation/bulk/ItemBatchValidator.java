@@ -0,0 +1,86 @@
+package hello.itemservice.web.validation.bulk;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.ObjectError;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * 여러 객체를 fork-join 풀에 나눠서 검증한다.
+ * 목록을 반씩 쪼개 LEAF_SIZE 이하가 되면 한 스레드가 순서대로 검증하고, 결과는 위치(index)별로 모은다.
+ * Bean Validation(Hibernate Validator)과 Spring Validator 는 상태가 없어서 여러 스레드에서 함께 써도 된다.
+ *
+ * item.validation.parallelism : 검증에 쓰는 스레드 수 (0 이면 CPU 코어 수, 1 이면 호출한 스레드에서 순서대로)
+ */
+@Component
+public class ItemBatchValidator implements DisposableBean {
+
+    // 이보다 작은 구간은 더 쪼개지 않는다. (작업 분배 비용 > 검증 비용)
+    static final int LEAF_SIZE = 256;
+
+    private final ForkJoinPool pool;
+
+    public ItemBatchValidator(@Value("${item.validation.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = threads > 1 ? new ForkJoinPool(threads) : null;
+    }
+
+    /**
+     * @return targets 와 같은 순서의 검증 오류 목록 (통과한 객체는 빈 리스트)
+     */
+    public <T> List<List<ObjectError>> validateAll(List<T> targets, Function<T, List<ObjectError>> validator) {
+        @SuppressWarnings("unchecked")
+        List<ObjectError>[] results = new List[targets.size()];
+        ValidateTask<T> task = new ValidateTask<>(targets, validator, results, 0, targets.size());
+        if (pool == null || targets.size() <= LEAF_SIZE) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private static final class ValidateTask<T> extends RecursiveAction {
+
+        private final List<T> targets;
+        private final Function<T, List<ObjectError>> validator;
+        private final List<ObjectError>[] results;
+        private final int from;
+        private final int to;
+
+        private ValidateTask(List<T> targets, Function<T, List<ObjectError>> validator, List<ObjectError>[] results, int from, int to) {
+            this.targets = targets;
+            this.validator = validator;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                // 구간마다 다른 위치에만 쓰고, join 이후에 읽으므로 별도 동기화가 필요 없다.
+                for (int i = from; i < to; i++) {
+                    results[i] = validator.apply(targets.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ValidateTask<>(targets, validator, results, from, middle),
+                    new ValidateTask<>(targets, validator, results, middle, to));
+        }
+    }
+}
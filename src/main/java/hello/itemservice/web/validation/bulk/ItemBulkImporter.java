@@ -0,0 +1,139 @@
+package hello.itemservice.web.validation.bulk;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import hello.itemservice.web.validation.compiled.CompiledValidator;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상품 대량 등록
+ * 요청 하나에 담긴 상품을 ItemSaveForm 과 같은 규칙(Bean Validation + totalPriceMin)으로 검증하고,
+ * 통과한 상품만 BATCH_SIZE 개씩 묶어서 ItemRepository.saveAll 로 저장한다.
+ * 검증은 ItemBatchValidator 로 여러 스레드에 나눠서 먼저 끝내고, 저장은 요청 순서대로 한다.
+ */
+@Component
+public class ItemBulkImporter {
+
+    public static final int BATCH_SIZE = 1000;
+    // 화면(V4)과 같은 오류 코드(totalPriceMin.item 등)를 쓰도록 객체 이름을 맞춘다.
+    private static final String OBJECT_NAME = "item";
+
+    private final ItemRepository itemRepository;
+    private final SmartValidator validator;
+    private final ItemBatchValidator batchValidator;
+    private final ValidationMetrics validationMetrics;
+
+    public ItemBulkImporter(ItemRepository itemRepository, javax.validation.Validator validator, ItemBatchValidator batchValidator,
+                            ValidationMetrics validationMetrics) {
+        this.itemRepository = itemRepository;
+        this.validator = new CompiledValidator(new SpringValidatorAdapter(validator));
+        this.batchValidator = batchValidator;
+        this.validationMetrics = validationMetrics;
+    }
+
+    public ItemImportResult importAll(List<ItemSaveForm> forms) {
+        return importAll(forms, batchValidator.validateAll(forms, this::validate));
+    }
+
+    /**
+     * ItemStreamImporter 가 읽은 상품을 등록한다. 읽으면서 남긴 오류(typeMismatch 등)에 이어서 검증한다.
+     */
+    ItemImportResult importRead(List<BindingResult> bindingResults) {
+        List<ItemSaveForm> forms = new ArrayList<>(bindingResults.size());
+        for (BindingResult bindingResult : bindingResults) {
+            forms.add((ItemSaveForm) bindingResult.getTarget());
+        }
+        return importAll(forms, batchValidator.validateAll(bindingResults, this::validateRead));
+    }
+
+    private ItemImportResult importAll(List<ItemSaveForm> forms, List<List<ObjectError>> errorsByIndex) {
+        ItemImportResult result = new ItemImportResult();
+        List<Item> batch = new ArrayList<>(Math.min(forms.size(), BATCH_SIZE));
+
+        for (int index = 0; index < forms.size(); index++) {
+            List<ObjectError> errors = errorsByIndex.get(index);
+            if (!errors.isEmpty()) {
+                validationMetrics.record(errors);
+                result.addFailure(index, errors);
+                continue;
+            }
+
+            batch.add(toItem(forms.get(index)));
+            if (batch.size() == BATCH_SIZE) {
+                flush(batch, result);
+            }
+        }
+        flush(batch, result);
+        return result;
+    }
+
+    /**
+     * @return 검증 오류 (통과하면 빈 리스트)
+     */
+    public List<ObjectError> validate(ItemSaveForm form) {
+        if (form == null) {
+            return List.of(new ObjectError(OBJECT_NAME, new String[]{"required"}, null, "상품 정보가 없습니다."));
+        }
+
+        BindingResult bindingResult = newBindingResult(form);
+        validate(form, bindingResult);
+        return bindingResult.getAllErrors();
+    }
+
+    /**
+     * bindingResult 에 이미 타입 오류(typeMismatch)가 있는 필드는 Bean Validation 오류를 더하지 않는다.
+     */
+    public void validate(ItemSaveForm form, BindingResult bindingResult) {
+        validator.validate(form, bindingResult);
+
+        // 특정 필드가 아닌 복합 룰 검증 (대량 입력에서는 큰 값이 들어올 수 있으므로 long 으로 계산)
+        if (form.getPrice() != null && form.getQuantity() != null) {
+            long resultPrice = (long) form.getPrice() * form.getQuantity();
+            if (resultPrice < 10000) {
+                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
+            }
+        }
+    }
+
+    /**
+     * 읽은 상품을 검증한다. 객체가 아니어서 읽지 못한 상품(전역 typeMismatch)은 더 검증하지 않는다.
+     * @return 읽기 + 검증 오류 (통과하면 빈 리스트)
+     */
+    List<ObjectError> validateRead(BindingResult bindingResult) {
+        if (!bindingResult.hasGlobalErrors()) {
+            validate((ItemSaveForm) bindingResult.getTarget(), bindingResult);
+        }
+        return bindingResult.getAllErrors();
+    }
+
+    BindingResult newBindingResult(ItemSaveForm form) {
+        return new BeanPropertyBindingResult(form, OBJECT_NAME);
+    }
+
+    private void flush(List<Item> batch, ItemImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        itemRepository.saveAll(batch);
+        result.addSaved(batch.size());
+        batch.clear();
+    }
+
+    static Item toItem(ItemSaveForm form) {
+        Item item = new Item();
+        item.setItemName(form.getItemName());
+        item.setPrice(form.getPrice());
+        item.setQuantity(form.getQuantity());
+        return item;
+    }
+}
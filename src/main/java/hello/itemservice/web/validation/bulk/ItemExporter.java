@@ -0,0 +1,403 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 전체 상품 내보내기 (JSON 배열 / CSV / 바이너리, 선택적으로 gzip)
+ * 저장소를 id 순서로 훑으면서 한 건씩 바로 출력 스트림에 쓴다. 목록을 만들지 않으므로 상품 수와 관계없이 메모리 사용량이 일정하다.
+ * 시작 부분(배열 시작, CSV 헤더, 바이너리 헤더)은 바로 flush 해서 첫 바이트가 상품 수와 관계없이 나가게 하고,
+ * 나머지는 출력 버퍼가 찰 때마다 chunked 로 나간다.
+ *
+ * CSV 와 바이너리는 행마다 String 을 만들지 않고 숫자와 상품명을 BLOCK_SIZE 블록 하나에 바로 인코딩해서,
+ * 블록이 찰 때마다 통째로 출력 스트림에 넘긴다.
+ *
+ * 바이너리 형식 (big-endian)
+ * [magic:int "ITMX"][formatVersion:int]
+ * ([1:byte][id:long][flags:byte][price:int][quantity:int][version:int][nameLength:int][name:UTF-8])*
+ * [0:byte][count:long]
+ * flags : 1 상품명 없음, 2 가격 없음, 4 수량 없음, 8 version 없음 (없는 값 자리는 0, JSON 의 null / CSV 의 빈 칸과 같다)
+ */
+@Component
+public class ItemExporter {
+
+    public enum Format {
+        JSON("application/json", "json"),
+        CSV("text/csv", "csv"),
+        BINARY("application/octet-stream", "bin");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @return 대소문자 구분 없이 찾은 형식, 모르는 형식이면 null
+         */
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    public enum Compression {
+        NONE,
+        GZIP;
+
+        /**
+         * @return 대소문자 구분 없이 찾은 압축 방식, 모르는 방식이면 null
+         */
+        public static Compression of(String value) {
+            for (Compression compression : values()) {
+                if (compression.name().equalsIgnoreCase(value)) {
+                    return compression;
+                }
+            }
+            return null;
+        }
+
+        public String getExtension() {
+            return this == GZIP ? ".gz" : "";
+        }
+    }
+
+    static final String CSV_HEADER = "id,itemName,price,quantity,version";
+    static final int BINARY_MAGIC = 0x49544D58; // "ITMX"
+    static final int BINARY_VERSION = 1;
+    static final byte NULL_NAME = 1;
+    static final byte NULL_PRICE = 1 << 1;
+    static final byte NULL_QUANTITY = 1 << 2;
+    static final byte NULL_VERSION = 1 << 3;
+
+    static final int BLOCK_SIZE = 1 << 16;
+    // 상품명을 뺀 한 행의 최대 크기 (CSV: long 1개 + int 3개 + 구분자, 바이너리: 고정 필드)
+    private static final int ROW_SIZE = 64;
+
+    private final ItemRepository itemRepository;
+    private final JsonFactory jsonFactory;
+
+    public ItemExporter(ItemRepository itemRepository, ObjectMapper objectMapper) {
+        this.itemRepository = itemRepository;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * out 은 닫지 않는다. (gzip 이면 압축 스트림만 마무리한다)
+     * @return 내보낸 상품 수
+     */
+    public long export(Format format, Compression compression, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = compression == Compression.GZIP ? new FastGzipOutputStream(out) : null;
+        OutputStream target = gzip == null ? out : gzip;
+
+        long count;
+        try (Stream<Item> items = itemRepository.streamAll()) {
+            switch (format) {
+                case CSV:
+                    count = writeCsv(items.iterator(), target);
+                    break;
+                case BINARY:
+                    count = writeBinary(items.iterator(), target);
+                    break;
+                default:
+                    count = writeJson(items.iterator(), target);
+            }
+        }
+
+        if (gzip != null) {
+            gzip.finish();
+        }
+        out.flush();
+        return count;
+    }
+
+    private long writeJson(Iterator<Item> items, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            // 응답 스트림은 컨테이너가 닫는다.
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            generator.flush();
+            while (items.hasNext()) {
+                Item item = items.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", item.getId());
+                generator.writeStringField("itemName", item.getItemName());
+                writeNumber(generator, "price", item.getPrice());
+                writeNumber(generator, "quantity", item.getQuantity());
+                writeNumber(generator, "version", item.getVersion());
+                generator.writeEndObject();
+                count++;
+            }
+            generator.writeEndArray();
+        }
+        return count;
+    }
+
+    private static void writeNumber(JsonGenerator generator, String field, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private long writeCsv(Iterator<Item> items, OutputStream out) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        block.put((CSV_HEADER + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        drain(block, out);
+        out.flush();
+
+        long count = 0;
+        while (items.hasNext()) {
+            Item item = items.next();
+            String name = item.getItemName();
+            // 상품명은 UTF-8 로 글자당 최대 3 byte, 따옴표를 두 번 쓰면 글자당 2 byte 이므로 3배면 충분하다.
+            int maxSize = ROW_SIZE + (name == null ? 0 : name.length() * 3 + 3);
+            if (!ensure(block, maxSize, out)) {
+                // 블록보다 긴 상품명은 드물기 때문에 String 으로 만들어 바로 쓴다.
+                out.write(csvRow(item).getBytes(StandardCharsets.UTF_8));
+                count++;
+                continue;
+            }
+
+            putDecimal(block, item.getId());
+            block.put((byte) ',');
+            putCsvText(block, name);
+            block.put((byte) ',');
+            putCsvNumber(block, item.getPrice());
+            block.put((byte) ',');
+            putCsvNumber(block, item.getQuantity());
+            block.put((byte) ',');
+            putCsvNumber(block, item.getVersion());
+            block.put((byte) '\r').put((byte) '\n');
+            count++;
+        }
+        drain(block, out);
+        return count;
+    }
+
+    private long writeBinary(Iterator<Item> items, OutputStream out) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        block.putInt(BINARY_MAGIC).putInt(BINARY_VERSION);
+        drain(block, out);
+        out.flush();
+
+        long count = 0;
+        while (items.hasNext()) {
+            Item item = items.next();
+            String name = item.getItemName();
+            int maxSize = ROW_SIZE + (name == null ? 0 : name.length() * 3);
+            boolean fits = ensure(block, maxSize, out);
+
+            byte flags = 0;
+            if (name == null) {
+                flags |= NULL_NAME;
+            }
+            if (item.getPrice() == null) {
+                flags |= NULL_PRICE;
+            }
+            if (item.getQuantity() == null) {
+                flags |= NULL_QUANTITY;
+            }
+            if (item.getVersion() == null) {
+                flags |= NULL_VERSION;
+            }
+            block.put((byte) 1);
+            block.putLong(item.getId());
+            block.put(flags);
+            block.putInt(item.getPrice() == null ? 0 : item.getPrice());
+            block.putInt(item.getQuantity() == null ? 0 : item.getQuantity());
+            block.putInt(item.getVersion() == null ? 0 : item.getVersion());
+
+            if (name == null) {
+                block.putInt(0);
+            } else if (fits) {
+                // 길이 자리를 비워 두고 인코딩한 뒤 채운다.
+                int lengthPosition = block.position();
+                block.position(lengthPosition + 4);
+                putUtf8(block, name, false);
+                block.putInt(lengthPosition, block.position() - lengthPosition - 4);
+            } else {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                block.putInt(bytes.length);
+                drain(block, out);
+                out.write(bytes);
+            }
+            count++;
+        }
+
+        if (block.remaining() < 9) {
+            drain(block, out);
+        }
+        block.put((byte) 0).putLong(count);
+        drain(block, out);
+        return count;
+    }
+
+    /**
+     * 블록에 size 만큼 자리가 없으면 비운다.
+     * @return 빈 블록에도 size 가 들어가지 않으면 false (ROW_SIZE 만큼은 항상 남아 있다)
+     */
+    private static boolean ensure(ByteBuffer block, int size, OutputStream out) throws IOException {
+        if (block.remaining() < size) {
+            drain(block, out);
+        }
+        return block.remaining() >= size;
+    }
+
+    private static void drain(ByteBuffer block, OutputStream out) throws IOException {
+        out.write(block.array(), 0, block.position());
+        block.clear();
+    }
+
+    private static void putCsvNumber(ByteBuffer block, Integer value) {
+        if (value != null) {
+            putDecimal(block, value);
+        }
+    }
+
+    /**
+     * 숫자를 String 을 거치지 않고 ASCII 숫자로 쓴다. (long 최솟값은 들어오지 않는다: id 는 양수, 나머지는 int)
+     */
+    static void putDecimal(ByteBuffer block, long value) {
+        if (value < 0) {
+            block.put((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value; rest >= 10; rest /= 10) {
+            digits++;
+        }
+        int end = block.position() + digits;
+        for (int position = end - 1; position >= end - digits; position--) {
+            block.put(position, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        block.position(end);
+    }
+
+    private static void putCsvText(ByteBuffer block, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = needsQuote(value);
+        if (quote) {
+            block.put((byte) '"');
+        }
+        if (isFormula(value)) {
+            block.put((byte) '\'');
+        }
+        putUtf8(block, value, quote);
+        if (quote) {
+            block.put((byte) '"');
+        }
+    }
+
+    /**
+     * UTF-8 로 바로 인코딩한다. 짝이 맞지 않는 surrogate 는 String.getBytes 처럼 ? 로 바꾼다.
+     * @param doubleQuotes CSV 따옴표 안이면 " 를 두 번 쓴다.
+     */
+    private static void putUtf8(ByteBuffer block, String value, boolean doubleQuotes) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (doubleQuotes && c == '"') {
+                    block.put((byte) '"');
+                }
+                block.put((byte) c);
+            } else if (c < 0x800) {
+                block.put((byte) (0xC0 | (c >> 6)));
+                block.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                block.put((byte) (0xF0 | (codePoint >> 18)));
+                block.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                block.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                block.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                block.put((byte) '?');
+            } else {
+                block.put((byte) (0xE0 | (c >> 12)));
+                block.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                block.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static String csvRow(Item item) {
+        return item.getId() + "," + csvText(item.getItemName()) + ","
+                + (item.getPrice() == null ? "" : item.getPrice()) + ","
+                + (item.getQuantity() == null ? "" : item.getQuantity()) + ","
+                + (item.getVersion() == null ? "" : item.getVersion()) + "\r\n";
+    }
+
+    /**
+     * RFC 4180 규칙으로 감싼다. (쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 쓴다)
+     * 스프레드시트가 수식으로 읽지 않도록 = + - @ 로 시작하는 값은 앞에 ' 를 붙인다.
+     */
+    static String csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if (isFormula(value)) {
+            value = "'" + value;
+        }
+        return needsQuote(value) ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static boolean isFormula(String value) {
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@';
+    }
+
+    private static boolean needsQuote(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 전체 카탈로그 덤프는 크기보다 속도가 중요하므로 가장 빠른 압축 수준을 쓴다.
+     */
+    private static final class FastGzipOutputStream extends GZIPOutputStream {
+
+        private FastGzipOutputStream(OutputStream out) throws IOException {
+            super(out, BLOCK_SIZE);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
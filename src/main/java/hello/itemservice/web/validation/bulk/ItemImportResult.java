@@ -0,0 +1,54 @@
+package hello.itemservice.web.validation.bulk;
+
+import lombok.Getter;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 대량 등록 결과
+ * 실패한 상품은 요청 안에서의 위치(index)와 검증 오류를 함께 돌려준다.
+ * 응답이 너무 커지지 않도록 실패 내역은 MAX_REPORTED_FAILURES 개까지만 담고, 개수(failed)는 모두 센다.
+ */
+@Getter
+public class ItemImportResult {
+
+    public static final int MAX_REPORTED_FAILURES = 1000;
+
+    private long total;
+    private long saved;
+    private long failed;
+    private final List<Failure> failures = new ArrayList<>();
+
+    void addSaved(int count) {
+        total += count;
+        saved += count;
+    }
+
+    void addFailure(long index, List<ObjectError> errors) {
+        total++;
+        failed++;
+        if (failures.size() < MAX_REPORTED_FAILURES) {
+            failures.add(new Failure(index, errors));
+        }
+    }
+
+    // 실패 내역을 바로 응답으로 내보내는 경우 (스트리밍 등록)
+    void addFailed() {
+        total++;
+        failed++;
+    }
+
+    @Getter
+    public static class Failure {
+
+        private final long index;
+        private final List<ObjectError> errors;
+
+        public Failure(long index, List<ObjectError> errors) {
+            this.index = index;
+            this.errors = errors;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상품 스트리밍 대량 등록 (NDJSON: 한 줄에 상품 하나)
+ * 요청 본문 전체를 객체로 만들지 않고 토큰 단위로 읽으면서 한 건씩 ItemSaveForm 으로 채워 검증한다.
+ * 통과한 상품은 BATCH_SIZE 개씩 저장하고, 결과도 한 줄씩 바로 응답으로 내보낸다.
+ * -> 메모리에는 배치 하나와 파서/출력 버퍼만 남으므로 업로드 크기와 관계없이 힙 사용량이 일정하다.
+ *
+ * 응답 (NDJSON)
+ *  {"index":0,"id":1}                  저장 성공
+ *  {"index":1,"errors":[...]}          검증 실패 (ObjectError / FieldError)
+ *  {"total":2,"saved":1,"failed":1}    마지막 줄 요약 (형식이 깨진 입력을 만나면 "error" 를 함께 담고 멈춘다)
+ *
+ * 입력이 JSON 배열([...])이어도 같은 방식으로 읽는다. (/bulk JSON 응답도 importAll(InputStream) 으로 같은 reader 를 쓴다)
+ */
+@Slf4j
+@Component
+public class ItemStreamImporter {
+
+    private static final String ITEM_NAME = "itemName";
+    private static final String PRICE = "price";
+    private static final String QUANTITY = "quantity";
+
+    private final ItemRepository itemRepository;
+    private final ItemBulkImporter itemBulkImporter;
+    private final ValidationMetrics validationMetrics;
+    private final JsonFactory jsonFactory;
+
+    public ItemStreamImporter(ItemRepository itemRepository, ItemBulkImporter itemBulkImporter, ValidationMetrics validationMetrics,
+                              ObjectMapper objectMapper) {
+        this.itemRepository = itemRepository;
+        this.itemBulkImporter = itemBulkImporter;
+        this.validationMetrics = validationMetrics;
+        // ObjectMapper 의 factory 를 써야 ObjectError 목록을 같은 설정으로 쓸 수 있다.
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public ItemImportResult importAll(InputStream in, OutputStream out) throws IOException {
+        ItemImportResult result = new ItemImportResult();
+        List<Item> batch = new ArrayList<>(ItemBulkImporter.BATCH_SIZE);
+        long[] batchIndexes = new long[ItemBulkImporter.BATCH_SIZE];
+        String error = null;
+
+        try (JsonParser parser = createParser(in);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            // 응답 스트림은 컨테이너가 닫는다. 줄 구분은 직접 넣으므로 기본 구분자(공백)는 쓰지 않는다.
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            try {
+                readAll(parser, (index, bindingResult) -> {
+                    List<ObjectError> errors = itemBulkImporter.validateRead(bindingResult);
+                    if (!errors.isEmpty()) {
+                        validationMetrics.record(bindingResult);
+                        result.addFailed();
+                        writeFailure(generator, index, errors);
+                        return;
+                    }
+
+                    batchIndexes[batch.size()] = index;
+                    batch.add(ItemBulkImporter.toItem((ItemSaveForm) bindingResult.getTarget()));
+                    if (batch.size() == ItemBulkImporter.BATCH_SIZE) {
+                        flush(batch, batchIndexes, result, generator);
+                    }
+                });
+            } catch (JsonProcessingException e) {
+                // 형식이 깨지면 다음 상품의 시작을 알 수 없으므로 멈춘다. (이미 저장한 상품은 유지)
+                log.info("대량 등록 입력 형식 오류 line={}, message={}", e.getLocation() == null ? null : e.getLocation().getLineNr(), e.getOriginalMessage());
+                error = e.getOriginalMessage();
+            }
+
+            flush(batch, batchIndexes, result, generator);
+            writeSummary(generator, result, error);
+        }
+        return result;
+    }
+
+    /**
+     * 상품을 모두 읽은 뒤 ItemBulkImporter 로 한 번에 등록하고 결과를 ItemImportResult 로 돌려준다. (JSON 응답용)
+     * 상품을 읽는 방법(typeMismatch 처리)은 스트리밍 등록과 같다.
+     * 형식이 깨진 입력이면 아무것도 저장하지 않고 JsonProcessingException 을 던진다.
+     */
+    public ItemImportResult importAll(InputStream in) throws IOException {
+        List<BindingResult> bindingResults = new ArrayList<>();
+        try (JsonParser parser = createParser(in)) {
+            readAll(parser, (index, bindingResult) -> bindingResults.add(bindingResult));
+        }
+        return itemBulkImporter.importRead(bindingResults);
+    }
+
+    // 요청 스트림은 컨테이너가 닫는다.
+    private JsonParser createParser(InputStream in) throws IOException {
+        JsonParser parser = jsonFactory.createParser(in);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        return parser;
+    }
+
+    /**
+     * JSON 배열이나 NDJSON 을 끝까지 읽으면서 상품 하나마다 (위치, 읽은 결과) 를 넘긴다.
+     */
+    private void readAll(JsonParser parser, ItemHandler handler) throws IOException {
+        JsonToken token = parser.nextToken();
+        boolean array = token == JsonToken.START_ARRAY;
+        if (array) {
+            token = parser.nextToken();
+        }
+
+        long index = 0;
+        while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+            ItemSaveForm form = new ItemSaveForm();
+            BindingResult bindingResult = itemBulkImporter.newBindingResult(form);
+            read(parser, form, bindingResult);
+            handler.handle(index++, bindingResult);
+            token = parser.nextToken();
+        }
+    }
+
+    /**
+     * 상품 하나를 토큰 단위로 읽어 form 에 채운다. 값의 타입이 맞지 않으면 typeMismatch 필드 오류로 남긴다.
+     */
+    private void read(JsonParser parser, ItemSaveForm form, BindingResult bindingResult) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            bindingResult.reject("typeMismatch", "상품은 JSON 객체여야 합니다.");
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case ITEM_NAME:
+                    if (value == JsonToken.VALUE_STRING) {
+                        form.setItemName(parser.getText());
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        typeMismatch(parser, field, bindingResult);
+                    }
+                    break;
+                case PRICE:
+                    form.setPrice(readInteger(parser, field, bindingResult));
+                    break;
+                case QUANTITY:
+                    form.setQuantity(readInteger(parser, field, bindingResult));
+                    break;
+                default:
+                    // 모르는 필드는 건너뛴다. (@RequestBody 기본 설정과 같다)
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private Integer readInteger(JsonParser parser, String field, BindingResult bindingResult) throws IOException {
+        JsonToken value = parser.currentToken();
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT) {
+            return parser.getIntValue();
+        }
+        // 폼 입력처럼 "1000" 같은 문자열 숫자도 받는다.
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Integer.valueOf(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                // typeMismatch
+            }
+        }
+        typeMismatch(parser, field, bindingResult);
+        return null;
+    }
+
+    private void typeMismatch(JsonParser parser, String field, BindingResult bindingResult) throws IOException {
+        Object rejectedValue = parser.currentToken().isScalarValue() ? parser.getText() : parser.currentToken().asString();
+        parser.skipChildren();
+        String[] codes = bindingResult.resolveMessageCodes("typeMismatch", field);
+        bindingResult.addError(new FieldError(bindingResult.getObjectName(), field, rejectedValue, true, codes, null,
+                "타입이 맞지 않습니다."));
+    }
+
+    private void flush(List<Item> batch, long[] batchIndexes, ItemImportResult result, JsonGenerator generator) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        itemRepository.saveAll(batch);
+        result.addSaved(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            generator.writeStartObject();
+            generator.writeNumberField("index", batchIndexes[i]);
+            generator.writeNumberField("id", batch.get(i).getId());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        batch.clear();
+        generator.flush();
+    }
+
+    private void writeFailure(JsonGenerator generator, long index, List<ObjectError> errors) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", index);
+        generator.writeObjectField("errors", errors);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeSummary(JsonGenerator generator, ItemImportResult result, String error) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("total", result.getTotal());
+        generator.writeNumberField("saved", result.getSaved());
+        generator.writeNumberField("failed", result.getFailed());
+        if (error != null) {
+            generator.writeStringField("error", error);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @FunctionalInterface
+    private interface ItemHandler {
+        void handle(long index, BindingResult bindingResult) throws IOException;
+    }
+}
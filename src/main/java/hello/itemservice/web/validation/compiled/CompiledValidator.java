@@ -0,0 +1,112 @@
+package hello.itemservice.web.validation.compiled;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+import javax.validation.GroupSequence;
+
+/**
+ * 미리 컴파일한 검사 목록(ValidationPlan)으로 먼저 확인하고, 실패했을 때만 실제 Bean Validation 으로 검증하는 Validator
+ * 대부분의 요청은 올바른 값이므로 리플렉션과 ConstraintViolation 생성 없이 끝난다.
+ * 실패하면 delegate(Hibernate Validator)가 처음부터 다시 검증하므로 오류 코드와 메시지는 기존과 같다.
+ *
+ * 클래스마다 처음 검증할 때 한 번만 제약을 읽고, 지원하지 않는 제약이 있는 클래스는 항상 delegate 로 검증한다.
+ */
+@Slf4j
+public class CompiledValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+
+    private final ClassValue<ValidationPlan> plans = new ClassValue<>() {
+        @Override
+        protected ValidationPlan computeValue(Class<?> type) {
+            ValidationPlan plan = ValidationPlan.compile(type);
+            log.debug("검증 계획 생성 type={}, compiled={}", type.getName(), plan.isSupported());
+            return plan;
+        }
+    };
+
+    private static final ClassValue<Boolean> GROUP_SEQUENCES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(GroupSequence.class);
+        }
+    };
+
+    public CompiledValidator(SmartValidator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        if (!passes(target, null)) {
+            delegate.validate(target, errors);
+        }
+    }
+
+    /**
+     * validationHints 중 Class 는 검증 그룹으로 본다. (SpringValidatorAdapter 와 같다)
+     * 그룹 시퀀스는 순서대로 멈추며 검증해야 하므로 delegate 에 맡긴다.
+     */
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (hasGroupSequence(validationHints) || !passes(target, toGroups(validationHints))) {
+            delegate.validate(target, errors, validationHints);
+        }
+    }
+
+    private boolean passes(Object target, Class<?>[] groups) {
+        if (target == null) {
+            return false;
+        }
+        ValidationPlan plan = plans.get(target.getClass());
+        if (!plan.isSupported()) {
+            return false;
+        }
+        try {
+            return plan.passes(target, groups);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static boolean hasGroupSequence(Object[] validationHints) {
+        for (Object hint : validationHints) {
+            if (hint instanceof Class && GROUP_SEQUENCES.get((Class<?>) hint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return 검증 그룹 (그룹 힌트가 없으면 Default 그룹을 뜻하는 null)
+     */
+    private static Class<?>[] toGroups(Object[] validationHints) {
+        int count = 0;
+        for (Object hint : validationHints) {
+            if (hint instanceof Class) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        Class<?>[] groups = new Class<?>[count];
+        int i = 0;
+        for (Object hint : validationHints) {
+            if (hint instanceof Class) {
+                groups[i++] = (Class<?>) hint;
+            }
+        }
+        return groups;
+    }
+}
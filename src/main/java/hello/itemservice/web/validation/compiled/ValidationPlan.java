@@ -0,0 +1,250 @@
+package hello.itemservice.web.validation.compiled;
+
+import org.hibernate.validator.constraints.Range;
+
+import javax.validation.Constraint;
+import javax.validation.GroupSequence;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 한 클래스의 Bean Validation 제약을 미리 읽어 만든 검사 목록
+ * 필드에 붙은 @NotNull, @NotBlank, @Range, @Min, @Max 만 지원한다.
+ * 그 밖의 제약(클래스/getter 제약, @Valid, 그룹 시퀀스, 지원하지 않는 타입)이 하나라도 있으면 컴파일하지 않는다. (UNSUPPORTED)
+ */
+final class ValidationPlan {
+
+    static final ValidationPlan UNSUPPORTED = new ValidationPlan(null);
+
+    private static final Set<Class<?>> INTEGRAL_TYPES = Set.of(
+            Integer.class, Long.class, Short.class, Byte.class);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final Check[] checks;
+
+    private ValidationPlan(Check[] checks) {
+        this.checks = checks;
+    }
+
+    boolean isSupported() {
+        return checks != null;
+    }
+
+    /**
+     * @param groups 검증 그룹 (null 이면 Default 그룹)
+     * @return 모든 검사를 통과하면 true
+     */
+    boolean passes(Object target, Class<?>[] groups) throws Throwable {
+        for (Check check : checks) {
+            if (check.appliesTo(groups) && !check.isValid(check.getter.invokeExact(target))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static ValidationPlan compile(Class<?> type) {
+        if (hasConstraint(type.getAnnotations()) || type.isAnnotationPresent(GroupSequence.class)) {
+            return UNSUPPORTED;
+        }
+
+        List<Check> checks = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (hasConstraint(method.getAnnotations()) || method.isAnnotationPresent(Valid.class)) {
+                    return UNSUPPORTED;
+                }
+            }
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (!compileField(field, checks)) {
+                    return UNSUPPORTED;
+                }
+            }
+        }
+        return new ValidationPlan(checks.toArray(new Check[0]));
+    }
+
+    private static boolean compileField(Field field, List<Check> checks) {
+        if (field.isAnnotationPresent(Valid.class)) {
+            return false;
+        }
+        MethodHandle getter = null;
+        for (Annotation annotation : field.getAnnotations()) {
+            if (!isConstraint(annotation)) {
+                continue;
+            }
+            if (getter == null) {
+                getter = getter(field);
+                if (getter == null) {
+                    return false;
+                }
+            }
+
+            Check check = toCheck(annotation, field.getType(), getter);
+            if (check == null) {
+                return false;
+            }
+            checks.add(check);
+        }
+        return true;
+    }
+
+    private static Check toCheck(Annotation annotation, Class<?> type, MethodHandle getter) {
+        if (annotation instanceof NotNull) {
+            return new NotNullCheck(getter, ((NotNull) annotation).groups());
+        }
+        if (annotation instanceof NotBlank && CharSequence.class.isAssignableFrom(type)) {
+            return new NotBlankCheck(getter, ((NotBlank) annotation).groups());
+        }
+        if (!INTEGRAL_TYPES.contains(type)) {
+            return null;
+        }
+        if (annotation instanceof Range) {
+            Range range = (Range) annotation;
+            return new RangeCheck(getter, range.groups(), range.min(), range.max());
+        }
+        if (annotation instanceof Min) {
+            Min min = (Min) annotation;
+            return new RangeCheck(getter, min.groups(), min.value(), Long.MAX_VALUE);
+        }
+        if (annotation instanceof Max) {
+            Max max = (Max) annotation;
+            return new RangeCheck(getter, max.groups(), Long.MIN_VALUE, max.value());
+        }
+        return null;
+    }
+
+    private static MethodHandle getter(Field field) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+            return lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean hasConstraint(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (isConstraint(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // @NotNull.List 같은 묶음 어노테이션도 제약으로 본다. (지원하지 않으므로 컴파일하지 않게 된다)
+    private static boolean isConstraint(Annotation annotation) {
+        Class<? extends Annotation> annotationType = annotation.annotationType();
+        if (annotationType.isAnnotationPresent(Constraint.class)) {
+            return true;
+        }
+        String packageName = annotationType.getPackageName();
+        return packageName.startsWith("javax.validation") || packageName.startsWith("org.hibernate.validator");
+    }
+
+    private abstract static class Check {
+
+        final MethodHandle getter;
+        private final Class<?>[] groups;
+        private final boolean defaultGroup;
+
+        Check(MethodHandle getter, Class<?>[] groups) {
+            this.getter = getter;
+            this.groups = groups.length == 0 ? new Class<?>[]{Default.class} : groups;
+            this.defaultGroup = appliesTo(new Class<?>[]{Default.class});
+        }
+
+        /**
+         * 요청한 그룹이 제약의 그룹이거나 그 하위 그룹이면 적용한다.
+         */
+        final boolean appliesTo(Class<?>[] requested) {
+            if (requested == null) {
+                return defaultGroup;
+            }
+            for (Class<?> group : groups) {
+                for (Class<?> request : requested) {
+                    if (group.isAssignableFrom(request)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // null 은 @NotNull, @NotBlank 외에는 통과다. (Bean Validation 규칙)
+        abstract boolean isValid(Object value);
+    }
+
+    private static final class NotNullCheck extends Check {
+
+        NotNullCheck(MethodHandle getter, Class<?>[] groups) {
+            super(getter, groups);
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            return value != null;
+        }
+    }
+
+    private static final class NotBlankCheck extends Check {
+
+        NotBlankCheck(MethodHandle getter, Class<?>[] groups) {
+            super(getter, groups);
+        }
+
+        // Hibernate 의 NotBlankValidator 처럼 trim() 후 길이가 있는지 확인한다. (trim 은 ' ' 이하 문자를 지운다)
+        @Override
+        boolean isValid(Object value) {
+            if (value == null) {
+                return false;
+            }
+            CharSequence chars = (CharSequence) value;
+            for (int i = 0; i < chars.length(); i++) {
+                if (chars.charAt(i) > ' ') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class RangeCheck extends Check {
+
+        private final long min;
+        private final long max;
+
+        RangeCheck(MethodHandle getter, Class<?>[] groups, long min, long max) {
+            super(getter, groups);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            if (value == null) {
+                return true;
+            }
+            long number = ((Number) value).longValue();
+            return number >= min && number <= max;
+        }
+    }
+}
@@ -22,4 +22,8 @@ public class ItemUpdateForm {
 
     // 수정에서는 수량은 자유롭게 변경할 수 있다.
     private Integer quantity;
+
+    // 수정 폼을 열 때 읽은 상품 version (그 사이 다른 수정이 있었으면 저장하지 않는다)
+    @NotNull
+    private Integer version;
 }
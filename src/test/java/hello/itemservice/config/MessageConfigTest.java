@@ -0,0 +1,39 @@
+package hello.itemservice.config;
+
+import hello.itemservice.web.cache.RenderedPageCache;
+import hello.itemservice.web.message.CompiledMessageSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MessageConfigTest {
+
+    @Test
+    void reloadClearsRenderedPageCache() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            //given 화면이 캐시되어 있다.
+            context.registerBean(RenderedPageCache.class, () -> new RenderedPageCache(10));
+            context.refresh();
+            RenderedPageCache cache = context.getBean(RenderedPageCache.class);
+            RenderedPageCache.Key key = new RenderedPageCache.Key("/validation/v4/items", Locale.KOREA);
+            String etag = cache.etag(key, "1");
+            cache.put(key, etag, "text/html", new byte[0]);
+
+            MessageSourceProperties properties = new MessageSourceProperties();
+            properties.setBasename("messages,errors");
+            CompiledMessageSource messageSource = new MessageConfig(context).compiledMessageSource(properties, "");
+
+            //when
+            messageSource.reload();
+
+            //then MessageBundleReloadedEvent 로 캐시를 비우고 ETag 도 바뀐다.
+            assertThat(cache.size()).isZero();
+            assertThat(cache.get(key, etag)).isNull();
+            assertThat(cache.etag(key, "1")).isNotEqualTo(etag);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package hello.itemservice.config;
+
+import hello.itemservice.web.render.ProfilingSpringStandardDialect;
+import hello.itemservice.web.render.TemplateRenderProfiler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.util.CollectionUtils;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.spring5.dialect.SpringStandardDialect;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TemplateConfigTest {
+
+    StaticListableBeanFactory beanFactory =
+            new StaticListableBeanFactory(Map.of("templateRenderProfiler", new TemplateRenderProfiler(new SimpleMeterRegistry())));
+    BeanPostProcessor postProcessor =
+            TemplateConfig.profilingDialectPostProcessor(beanFactory.getBeanProvider(TemplateRenderProfiler.class));
+
+    @Test
+    void profilingDialectKeepsSettings() {
+        //given 스프링 부트가 spring.thymeleaf.* 설정을 넣은 엔진
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setEnableSpringELCompiler(true);
+        engine.setRenderHiddenMarkersBeforeCheckboxes(true);
+
+        //when
+        postProcessor.postProcessBeforeInitialization(engine, "templateEngine");
+
+        //then
+        SpringStandardDialect dialect = CollectionUtils.findValueOfType(engine.getDialects(), SpringStandardDialect.class);
+        assertThat(dialect).isInstanceOf(ProfilingSpringStandardDialect.class);
+        assertThat(dialect.getEnableSpringELCompiler()).isTrue();
+        assertThat(dialect.getRenderHiddenMarkersBeforeCheckboxes()).isTrue();
+    }
+
+    @Test
+    void profilingDialectKeepsDefaults() {
+        //given
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+
+        //when
+        postProcessor.postProcessBeforeInitialization(engine, "templateEngine");
+
+        //then
+        SpringStandardDialect dialect = CollectionUtils.findValueOfType(engine.getDialects(), SpringStandardDialect.class);
+        assertThat(dialect).isInstanceOf(ProfilingSpringStandardDialect.class);
+        assertThat(dialect.getEnableSpringELCompiler()).isFalse();
+        assertThat(dialect.getRenderHiddenMarkersBeforeCheckboxes()).isFalse();
+    }
+}
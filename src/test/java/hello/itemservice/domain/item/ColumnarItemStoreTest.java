@@ -0,0 +1,95 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarItemStoreTest {
+
+    ColumnarItemStore store = new ColumnarItemStore();
+
+    @Test
+    void putAndGet() {
+        //given
+        store.put(item(1L, "상품A", 10000, 10));
+        store.put(item(2L, null, null, null));
+
+        //when
+        Item findItem = store.get(1L);
+        Item nullItem = store.get(2L);
+
+        //then
+        assertThat(findItem).isEqualTo(item(1L, "상품A", 10000, 10));
+        assertThat(nullItem).isEqualTo(item(2L, null, null, null));
+        assertThat(store.get(3L)).isNull();
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.maxId()).isEqualTo(2);
+    }
+
+    @Test
+    void overwrite() {
+        //given
+        store.put(item(1L, "itemA", 10000, 10));
+
+        //when
+        for (int i = 0; i < 10000; i++) {
+            store.put(item(1L, "itemA-" + i, 10000 + i, i));
+        }
+
+        //then
+        assertThat(store.get(1L)).isEqualTo(item(1L, "itemA-9999", 19999, 9999));
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void iterator() {
+        //given
+        long farId = (1 << 16) * 3L + 5; // 중간 세그먼트가 비어 있다.
+        store.put(item(1L, "item1", 10000, 10));
+        store.put(item(2L, "item2", 20000, 20));
+        store.put(item(farId, "far", 30000, 30));
+
+        //when
+        List<Long> asc = ids(store, null, false);
+        List<Long> desc = ids(store, null, true);
+        List<Long> afterCursor = ids(store, 1L, false);
+        List<Long> beforeCursor = ids(store, farId, true);
+
+        //then
+        assertThat(asc).containsExactly(1L, 2L, farId);
+        assertThat(desc).containsExactly(farId, 2L, 1L);
+        assertThat(afterCursor).containsExactly(2L, farId);
+        assertThat(beforeCursor).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void repositoryWithColumnarStore() {
+        //given
+        ItemRepository itemRepository = new ItemRepository(store, true);
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        itemRepository.update(savedItem.getId(), new Item("itemB", 20000, 20));
+
+        //then
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem.getItemName()).isEqualTo("itemB");
+        assertThat(findItem.getPrice()).isEqualTo(20000);
+        assertThat(findItem.getQuantity()).isEqualTo(20);
+    }
+
+    private static List<Long> ids(ItemStore store, Long cursor, boolean descending) {
+        List<Long> ids = new ArrayList<>();
+        store.iterator(cursor, descending).forEachRemaining(item -> ids.add(item.getId()));
+        return ids;
+    }
+
+    private static Item item(Long id, String itemName, Integer price, Integer quantity) {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        return item;
+    }
+}
@@ -4,6 +4,12 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -29,6 +35,20 @@ class ItemRepositoryTest {
         assertThat(findItem).isEqualTo(savedItem);
     }
 
+    @Test
+    void saveAll() {
+        //given
+        Item saved = itemRepository.save(new Item("itemA", 10000, 10));
+        List<Item> items = List.of(new Item("item1", 10000, 10), new Item("item2", 20000, 20));
+
+        //when
+        itemRepository.saveAll(items);
+
+        //then
+        assertThat(items).extracting("id").containsExactly(saved.getId() + 1, saved.getId() + 2);
+        assertThat(itemRepository.findById(saved.getId() + 2)).isEqualTo(items.get(1));
+    }
+
     @Test
     void findAll() {
         //given
@@ -46,6 +66,67 @@ class ItemRepositoryTest {
         assertThat(result).contains(item1, item2);
     }
 
+    @Test
+    void findPage() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+        Item item3 = itemRepository.save(new Item("item3", 30000, 30));
+
+        //when
+        ItemPage first = itemRepository.findPage(ItemPageRequest.of(null, 2, ItemPageRequest.Direction.ASC));
+        ItemPage second = itemRepository.findPage(ItemPageRequest.of(first.getNextCursor(), 2, ItemPageRequest.Direction.ASC));
+        ItemPage desc = itemRepository.findPage(ItemPageRequest.of(null, 2, ItemPageRequest.Direction.DESC));
+
+        //then
+        assertThat(first.getContent()).containsExactly(item1, item2);
+        assertThat(first.getNextCursor()).isEqualTo(item2.getId());
+        assertThat(second.getContent()).containsExactly(item3);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(desc.getContent()).containsExactly(item3, item2);
+    }
+
+    @Test
+    void search() {
+        //given
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        Item itemB = itemRepository.save(new Item("itemB", 20000, 20));
+        Item other = itemRepository.save(new Item("other", 15000, 30));
+
+        ItemSearchCond byName = new ItemSearchCond();
+        byName.setItemName("item");
+
+        ItemSearchCond byPrice = new ItemSearchCond();
+        byPrice.setMinPrice(12000);
+        byPrice.setMaxPrice(20000);
+
+        ItemSearchCond byNameAndPrice = new ItemSearchCond();
+        byNameAndPrice.setItemName("item");
+        byNameAndPrice.setMaxPrice(15000);
+
+        //when & then
+        assertThat(itemRepository.search(byName, 10)).containsExactly(itemA, itemB);
+        assertThat(itemRepository.search(byPrice, 10)).containsExactly(other, itemB);
+        assertThat(itemRepository.search(byNameAndPrice, 10)).containsExactly(itemA);
+        assertThat(new ItemRepository(new MemoryItemStore(), false).search(byName, 10)).isEmpty();
+    }
+
+    @Test
+    void searchAfterUpdate() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.update(item.getId(), new Item("renamed", 50000, 10));
+
+        ItemSearchCond oldName = new ItemSearchCond();
+        oldName.setItemName("item");
+        ItemSearchCond newPrice = new ItemSearchCond();
+        newPrice.setMinPrice(50000);
+
+        //when & then
+        assertThat(itemRepository.search(oldName, 10)).isEmpty();
+        assertThat(itemRepository.search(newPrice, 10)).extracting("itemName").containsExactly("renamed");
+    }
+
     @Test
     void updateItem() {
         //given
@@ -65,4 +146,52 @@ class ItemRepositoryTest {
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void updateWithVersion() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        Long itemId = savedItem.getId();
+        Integer readVersion = itemRepository.findById(itemId).getVersion();
+
+        //when
+        boolean first = itemRepository.update(itemId, new Item("first", 20000, 20), readVersion);
+        // 같은 version 을 읽은 다른 수정은 거절된다.
+        boolean second = itemRepository.update(itemId, new Item("second", 30000, 30), readVersion);
+
+        //then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        Item findItem = itemRepository.findById(itemId);
+        assertThat(findItem.getItemName()).isEqualTo("first");
+        assertThat(findItem.getVersion()).isEqualTo(readVersion + 1);
+    }
+
+    @Test
+    void concurrentSave() throws InterruptedException {
+        //given
+        int threadCount = 16;
+        int savePerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        //when
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < savePerThread; j++) {
+                    ids.add(itemRepository.save(new Item("item", 10000, 10)).getId());
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then
+        assertThat(ids).hasSize(threadCount * savePerThread);
+        assertThat(itemRepository.findAll()).hasSize(threadCount * savePerThread);
+    }
 }
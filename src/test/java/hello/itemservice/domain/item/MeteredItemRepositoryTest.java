@@ -0,0 +1,51 @@
+package hello.itemservice.domain.item;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MeteredItemRepositoryTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ItemRepository itemRepository = new MeteredItemRepository(new MemoryItemStore(), true, ItemJournal.NONE, registry);
+
+    @Test
+    void timeOperations() {
+        //when
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.saveAll(List.of(new Item("itemB", 20000, 20)));
+        itemRepository.findById(1L);
+        itemRepository.findById(2L);
+        itemRepository.findAll();
+        itemRepository.update(1L, new Item("itemC", 30000, 30));
+
+        //then
+        assertThat(timer("save").count()).isEqualTo(1);
+        assertThat(timer("saveAll").count()).isEqualTo(1);
+        assertThat(timer("findById").count()).isEqualTo(2);
+        assertThat(timer("findAll").count()).isEqualTo(1);
+        assertThat(timer("update").count()).isEqualTo(1);
+        assertThat(timer("search").count()).isZero();
+    }
+
+    @Test
+    void storeSize() {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+
+        //when
+        double size = registry.get("item.store.size").gauge().value();
+
+        //then
+        assertThat(size).isEqualTo(2);
+    }
+
+    private Timer timer(String operation) {
+        return registry.get("item.repository").tag("operation", operation).timer();
+    }
+}
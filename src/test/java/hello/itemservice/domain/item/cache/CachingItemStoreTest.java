@@ -0,0 +1,228 @@
+package hello.itemservice.domain.item.cache;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingItemStoreTest {
+
+    // 저장 엔진에서 몇 번 읽었는지 센다.
+    AtomicInteger loads = new AtomicInteger();
+    MemoryItemStore delegate = new MemoryItemStore() {
+        @Override
+        public Item get(long id) {
+            loads.incrementAndGet();
+            return super.get(id);
+        }
+    };
+    AtomicLong now = new AtomicLong();
+
+    @Test
+    void readThrough() {
+        //given
+        CachingItemStore cache = cache(10, EvictionPolicy.W_TINY_LFU, Duration.ZERO);
+        ItemRepository itemRepository = new ItemRepository(cache, false);
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        Item first = itemRepository.findById(1L);
+        Item second = itemRepository.findById(1L);
+
+        //then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateReplacesCachedItem() {
+        //given
+        CachingItemStore cache = cache(10, EvictionPolicy.W_TINY_LFU, Duration.ZERO);
+        ItemRepository itemRepository = new ItemRepository(cache, false);
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.findById(1L);
+
+        //when
+        itemRepository.update(1L, new Item("itemB", 20000, 20));
+        Item item = itemRepository.findById(1L);
+
+        //then
+        assertThat(item.getItemName()).isEqualTo("itemB");
+        assertThat(item.getVersion()).isEqualTo(Item.INITIAL_VERSION + 1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void staleLoadIsNotCached() throws Exception {
+        //given 저장 엔진에서 읽은 뒤 돌려주기 전에 멈추는 delegate
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        MemoryItemStore blocking = new MemoryItemStore() {
+            @Override
+            public Item get(long id) {
+                Item item = super.get(id);
+                if (resume.getCount() > 0) {
+                    read.countDown();
+                    try {
+                        resume.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return item;
+            }
+        };
+        CachingItemStore cache = new CachingItemStore(blocking, 10, EvictionPolicy.W_TINY_LFU, Duration.ZERO, now::get);
+        blocking.put(item(1));
+
+        //when 예전 값을 읽는 사이 수정
+        CompletableFuture<Item> staleGet = CompletableFuture.supplyAsync(() -> cache.get(1));
+        assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+        Item updated = item(1);
+        updated.setItemName("updated");
+        cache.put(updated);
+        resume.countDown();
+        Item stale = staleGet.get(5, TimeUnit.SECONDS);
+
+        //then 읽어 온 예전 값은 캐시에 넣지 않는다.
+        assertThat(stale.getItemName()).isEqualTo("item1");
+        assertThat(cache.cachedCount()).isZero();
+        assertThat(cache.get(1).getItemName()).isEqualTo("updated");
+    }
+
+    @Test
+    void cachedItemIsCopied() {
+        //given
+        CachingItemStore cache = cache(10, EvictionPolicy.LRU, Duration.ZERO);
+        cache.put(item(1));
+        cache.get(1);
+
+        //when
+        cache.get(1).setItemName("changed");
+
+        //then
+        assertThat(cache.get(1).getItemName()).isEqualTo("item1");
+    }
+
+    @Test
+    void lruEvictsLeastRecentlyUsed() {
+        //given
+        CachingItemStore cache = cache(2, EvictionPolicy.LRU, Duration.ZERO);
+        load(cache, 1, 2);
+        cache.get(1);
+
+        //when
+        load(cache, 3);
+        loads.set(0);
+        cache.get(1);
+        cache.get(2);
+
+        //then
+        assertThat(loads.get()).isEqualTo(1); // 3 을 넣을 때 2 가 밀려났다.
+        assertThat(cache.evictionCount()).isEqualTo(2);
+        assertThat(cache.cachedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void tinyLfuKeepsFrequentItemsDuringScan() {
+        //given
+        CachingItemStore cache = cache(100, EvictionPolicy.W_TINY_LFU, Duration.ZERO);
+        for (int round = 0; round < 5; round++) {
+            load(cache, range(1, 50));
+        }
+
+        //when 한 번씩만 읽는 상품 1000개
+        load(cache, range(1001, 2000));
+        loads.set(0);
+        load(cache, range(1, 50));
+
+        //then
+        assertThat(cache.cachedCount()).isLessThanOrEqualTo(100);
+        assertThat(loads.get()).isZero();
+    }
+
+    @Test
+    void lruLosesFrequentItemsDuringScan() {
+        //given
+        CachingItemStore cache = cache(100, EvictionPolicy.LRU, Duration.ZERO);
+        for (int round = 0; round < 5; round++) {
+            load(cache, range(1, 50));
+        }
+
+        //when
+        load(cache, range(1001, 2000));
+        loads.set(0);
+        load(cache, range(1, 50));
+
+        //then
+        assertThat(loads.get()).isEqualTo(50);
+    }
+
+    @Test
+    void expireAfterTtl() {
+        //given
+        CachingItemStore cache = cache(10, EvictionPolicy.W_TINY_LFU, Duration.ofSeconds(10));
+        load(cache, 1);
+
+        //when
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        cache.get(1);
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        cache.get(1);
+
+        //then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void clear() {
+        //given
+        CachingItemStore cache = cache(10, EvictionPolicy.W_TINY_LFU, Duration.ZERO);
+        load(cache, 1, 2);
+
+        //when
+        cache.clear();
+
+        //then
+        assertThat(cache.cachedCount()).isZero();
+        assertThat(cache.get(1)).isNull();
+    }
+
+    private CachingItemStore cache(int maximumSize, EvictionPolicy policy, Duration ttl) {
+        return new CachingItemStore(delegate, maximumSize, policy, ttl, now::get);
+    }
+
+    // 저장 엔진에 넣고 한 번 읽어서 캐시에 올린다.
+    private void load(CachingItemStore cache, long... ids) {
+        for (long id : ids) {
+            delegate.put(item(id));
+            cache.get(id);
+        }
+    }
+
+    private static long[] range(long from, long to) {
+        long[] ids = new long[(int) (to - from + 1)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = from + i;
+        }
+        return ids;
+    }
+
+    private static Item item(long id) {
+        Item item = new Item("item" + id, 10000, 10);
+        item.setId(id);
+        item.setVersion(Item.INITIAL_VERSION);
+        return item;
+    }
+}
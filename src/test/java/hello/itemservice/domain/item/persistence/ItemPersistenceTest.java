@@ -0,0 +1,113 @@
+package hello.itemservice.domain.item.persistence;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemPageRequest;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemStore;
+import hello.itemservice.domain.item.MemoryItemStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemPersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoverFromLog() throws IOException {
+        //given
+        MemoryItemStore store = new MemoryItemStore();
+        ItemPersistence persistence = open(store);
+        ItemRepository itemRepository = new ItemRepository(store, true, persistence.journal());
+
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+        itemRepository.update(itemA.getId(), new Item("itemA2", 15000, null));
+        persistence.close();
+
+        //when
+        MemoryItemStore recovered = new MemoryItemStore();
+        open(recovered).close();
+
+        //then
+        assertThat(recovered.size()).isEqualTo(2);
+        assertThat(recovered.get(itemA.getId())).isEqualTo(item(itemA.getId(), "itemA2", 15000, null, 2));
+    }
+
+    @Test
+    void recoverFromSnapshotAndLog() throws IOException {
+        //given
+        MemoryItemStore store = new MemoryItemStore();
+        ItemPersistence persistence = open(store);
+        ItemRepository itemRepository = new ItemRepository(store, true, persistence.journal());
+
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        persistence.snapshot();
+        Item itemB = itemRepository.save(new Item("itemB", 20000, 20));
+        itemRepository.update(itemA.getId(), new Item("itemA2", 15000, 15));
+        persistence.close();
+
+        //when
+        ItemPersistence recoveredPersistence = open(new MemoryItemStore());
+        ItemStore recovered = recoveredPersistence.store();
+        ItemRepository recoveredRepository = new ItemRepository(recovered, true, recoveredPersistence.journal());
+
+        //then
+        assertThat(recovered.get(itemA.getId())).isEqualTo(item(itemA.getId(), "itemA2", 15000, 15, 2));
+        assertThat(recovered.get(itemB.getId())).isEqualTo(item(itemB.getId(), "itemB", 20000, 20, 1));
+        // 복구 후에도 id 가 이어서 발급된다.
+        assertThat(recoveredRepository.save(new Item("itemC", 30000, 30)).getId()).isEqualTo(itemB.getId() + 1);
+        recoveredPersistence.close();
+    }
+
+    @Test
+    void recoverFromMappedSnapshot() throws IOException {
+        //given
+        MemoryItemStore store = new MemoryItemStore();
+        ItemPersistence persistence = open(store);
+        ItemRepository itemRepository = new ItemRepository(store, false, persistence.journal());
+        for (int i = 1; i <= 100; i++) {
+            itemRepository.save(new Item("item" + i, i * 100, i % 3 == 0 ? null : i));
+        }
+        itemRepository.update(10L, new Item("item10", 1000, 10));
+        persistence.snapshot();
+        itemRepository.update(50L, new Item("changed", 1, 1));
+        persistence.close();
+
+        //when
+        ItemPersistence recoveredPersistence = open(new MemoryItemStore());
+        ItemStore recovered = recoveredPersistence.store();
+        ItemRepository recoveredRepository = new ItemRepository(recovered, false, recoveredPersistence.journal());
+        Item saved = recoveredRepository.save(new Item("item101", 10100, 101));
+
+        //then
+        assertThat(recovered.size()).isEqualTo(101);
+        assertThat(recovered.get(3L)).isEqualTo(item(3L, "item3", 300, null, 1));
+        // 스냅샷에 담긴 version 도 복구된다.
+        assertThat(recovered.get(10L).getVersion()).isEqualTo(2);
+        assertThat(recovered.get(50L)).isEqualTo(item(50L, "changed", 1, 1, 2));
+        assertThat(saved.getId()).isEqualTo(101L);
+
+        ItemPage page = recoveredRepository.findPage(ItemPageRequest.of(48L, 3, ItemPageRequest.Direction.ASC));
+        assertThat(page.getContent()).extracting("itemName").containsExactly("item49", "changed", "item51");
+        recoveredPersistence.close();
+    }
+
+    private ItemPersistence open(MemoryItemStore store) throws IOException {
+        return new ItemPersistence(store, directory, true, Duration.ofHours(1));
+    }
+
+    private static Item item(Long id, String itemName, Integer price, Integer quantity, Integer version) {
+        Item item = new Item(itemName, price, quantity);
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+}
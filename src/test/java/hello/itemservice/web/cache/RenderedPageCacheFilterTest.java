@@ -0,0 +1,88 @@
+package hello.itemservice.web.cache;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RenderedPageCacheFilterTest {
+
+    ItemRepository itemRepository = new ItemRepository(new MemoryItemStore(), false);
+    RenderedPageCache cache = new RenderedPageCache(100);
+    RenderedPageCacheFilter filter = new RenderedPageCacheFilter(cache, itemRepository, new SimpleMeterRegistry());
+
+    // 렌더링 대신 현재 상품 이름을 HTML 로 쓰고, 몇 번 렌더링했는지 센다.
+    AtomicInteger renders = new AtomicInteger();
+    FilterChain render = (request, response) -> {
+        renders.incrementAndGet();
+        response.setContentType("text/html;charset=UTF-8");
+        response.getOutputStream().write(itemRepository.findById(1L).getItemName().getBytes(StandardCharsets.UTF_8));
+    };
+
+    @Test
+    void cacheItemPage() throws Exception {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        MockHttpServletResponse first = get("/validation/v4/items/1", null);
+        MockHttpServletResponse second = get("/validation/v4/items/1", null);
+
+        //then
+        assertThat(renders.get()).isEqualTo(1);
+        assertThat(second.getContentAsString()).isEqualTo("itemA");
+        assertThat(second.getHeader("ETag")).isEqualTo(first.getHeader("ETag"));
+    }
+
+    @Test
+    void notModified() throws Exception {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        String etag = get("/validation/v4/items/1", null).getHeader("ETag");
+
+        //when
+        MockHttpServletResponse response = get("/validation/v4/items/1", etag);
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void renderAgainAfterUpdate() throws Exception {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        String itemEtag = get("/validation/v4/items/1", null).getHeader("ETag");
+        String listEtag = get("/validation/v4/items", null).getHeader("ETag");
+
+        //when
+        itemRepository.update(1L, new Item("itemB", 10000, 10));
+        MockHttpServletResponse item = get("/validation/v4/items/1", itemEtag);
+        MockHttpServletResponse list = get("/validation/v4/items", listEtag);
+
+        //then
+        assertThat(item.getStatus()).isEqualTo(200);
+        assertThat(item.getContentAsString()).isEqualTo("itemB");
+        assertThat(list.getStatus()).isEqualTo(200);
+        assertThat(renders.get()).isEqualTo(4);
+    }
+
+    private MockHttpServletResponse get(String uri, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, render);
+        return response;
+    }
+}
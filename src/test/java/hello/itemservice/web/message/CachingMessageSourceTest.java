@@ -0,0 +1,79 @@
+package hello.itemservice.web.message;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.validation.FieldError;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingMessageSourceTest {
+
+    CachingMessageCodesResolver codesResolver = new CachingMessageCodesResolver(100);
+
+    @Test
+    void resolveMessageCodes() {
+        //when
+        String[] codes = codesResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        codes[0] = "changed";
+
+        //then 캐시한 코드 목록은 바뀌지 않는다.
+        assertThat(codesResolver.resolveMessageCodes("required", "item", "itemName", String.class))
+                .containsExactly("required.item.itemName", "required.itemName", "required.java.lang.String", "required");
+    }
+
+    @Test
+    void getMessage() {
+        //given
+        CountingMessageSource delegate = new CountingMessageSource();
+        delegate.addMessage("range", Locale.KOREA, "{0} ~ {1} 범위를 허용합니다.");
+        CachingMessageSource messageSource = new CachingMessageSource(delegate, 100);
+        String[] codes = codesResolver.resolveMessageCodes("range", "item", "price", Integer.class);
+
+        //when
+        String first = messageSource.getMessage(error(codes, 1000, 1000000), Locale.KOREA);
+        delegate.lookups = 0;
+        String second = messageSource.getMessage(error(codes, 10, 20), Locale.KOREA);
+
+        //then 두 번째부터는 메시지가 있는 코드 하나만 찾는다.
+        assertThat(first).isEqualTo("1,000 ~ 1,000,000 범위를 허용합니다.");
+        assertThat(second).isEqualTo("10 ~ 20 범위를 허용합니다.");
+        assertThat(delegate.lookups).isEqualTo(1);
+    }
+
+    @Test
+    void defaultMessage() {
+        //given
+        CachingMessageSource messageSource = new CachingMessageSource(new StaticMessageSource(), 100);
+        String[] codes = codesResolver.resolveMessageCodes("unknown", "item");
+
+        //when
+        String message = messageSource.getMessage(new FieldError("item", "price", null, false, codes, null, "기본 메시지"), Locale.KOREA);
+
+        //then
+        assertThat(message).isEqualTo("기본 메시지");
+    }
+
+    private static FieldError error(String[] codes, Object... args) {
+        return new FieldError("item", "price", null, false, codes, args, null);
+    }
+
+    static class CountingMessageSource extends StaticMessageSource {
+
+        int lookups;
+
+        @Override
+        protected String resolveCodeWithoutArguments(String code, Locale locale) {
+            lookups++;
+            return super.resolveCodeWithoutArguments(code, locale);
+        }
+
+        @Override
+        protected MessageFormat resolveCode(String code, Locale locale) {
+            lookups++;
+            return super.resolveCode(code, locale);
+        }
+    }
+}
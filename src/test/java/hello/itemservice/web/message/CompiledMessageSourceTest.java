@@ -0,0 +1,95 @@
+package hello.itemservice.web.message;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 스프링 부트 기본 설정의 ResourceBundleMessageSource 와 결과가 같은지 확인한다.
+ */
+class CompiledMessageSourceTest {
+
+    CompiledMessageSource messageSource = new CompiledMessageSource(List.of("messages", "errors"),
+            StandardCharsets.UTF_8, true, false, false);
+    ResourceBundleMessageSource expected = new ResourceBundleMessageSource();
+    DefaultMessageCodesResolver codesResolver = new DefaultMessageCodesResolver();
+
+    {
+        expected.setBasenames("messages", "errors");
+        expected.setDefaultEncoding("UTF-8");
+    }
+
+    @Test
+    void message() {
+        for (Locale locale : new Locale[]{Locale.KOREA, Locale.ENGLISH}) {
+            assertSame("label.item", null, locale);
+            assertSame("hello.name", new Object[]{"Spring"}, locale);
+            assertSame("range.item.price", new Object[]{1000, 1000000}, locale);
+        }
+    }
+
+    @Test
+    void validationError() {
+        //given
+        FieldError rangeError = new FieldError("item", "price", 100, false,
+                codesResolver.resolveMessageCodes("Range", "item", "price", Integer.class),
+                new Object[]{new DefaultMessageSourceResolvable(new String[]{"item.price", "price"}, "price"), 1000000, 1000},
+                "1000에서 1000000 사이여야 합니다");
+        ObjectError totalPriceError = new ObjectError("item", codesResolver.resolveMessageCodes("totalPriceMin", "item"),
+                new Object[]{10000, 5000}, null);
+
+        //then
+        assertThat(messageSource.getMessage(rangeError, Locale.KOREA)).isEqualTo(expected.getMessage(rangeError, Locale.KOREA));
+        assertThat(messageSource.getMessage(totalPriceError, Locale.KOREA)).isEqualTo(expected.getMessage(totalPriceError, Locale.KOREA));
+    }
+
+    @Test
+    void defaultMessage() {
+        //given
+        MessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(new String[]{"unknown"}, new Object[]{1000}, "기본 {0}");
+
+        //then
+        assertThat(messageSource.getMessage(resolvable, Locale.KOREA)).isEqualTo(expected.getMessage(resolvable, Locale.KOREA));
+        assertThat(messageSource.getMessage("unknown", null, null, Locale.KOREA)).isNull();
+        assertThatThrownBy(() -> messageSource.getMessage("unknown", null, Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+    }
+
+    @Test
+    void reloadFromDirectory(@TempDir Path directory) throws IOException {
+        //given
+        Path file = directory.resolve("messages.properties");
+        Files.writeString(file, "label.item=외부 상품");
+        CompiledMessageSource external = new CompiledMessageSource(List.of("messages"),
+                StandardCharsets.UTF_8, true, false, false, directory);
+        assertThat(external.getMessage("label.item", null, Locale.KOREA)).isEqualTo("외부 상품");
+
+        //when
+        Files.writeString(file, "label.item=바뀐 상품");
+        external.reload();
+
+        //then
+        assertThat(external.getMessage("label.item", null, Locale.KOREA)).isEqualTo("바뀐 상품");
+        assertThat(external.isBundleFile("messages_en.properties")).isTrue();
+        assertThat(external.isBundleFile("other.txt")).isFalse();
+    }
+
+    private void assertSame(String code, Object[] args, Locale locale) {
+        assertThat(messageSource.getMessage(code, args, locale)).isEqualTo(expected.getMessage(code, args, locale));
+    }
+}
@@ -0,0 +1,114 @@
+package hello.itemservice.web.message;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MessageBundleWatcherTest {
+
+    static final Duration QUIET_PERIOD = Duration.ofMillis(300);
+
+    CompiledMessageSource messageSource;
+    MessageBundleWatcher watcher;
+    AtomicInteger reloads = new AtomicInteger();
+    CountDownLatch reloaded = new CountDownLatch(1);
+
+    @AfterEach
+    void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    @Test
+    void reloadOnceAfterQuietPeriod(@TempDir Path directory) throws Exception {
+        //given
+        Path file = directory.resolve("watched.properties");
+        Files.writeString(file, "label.item=상품 0", StandardCharsets.UTF_8);
+        start(directory);
+
+        //when 편집기처럼 짧은 간격으로 여러 번 쓴다.
+        for (int i = 1; i <= 5; i++) {
+            Files.writeString(file, "label.item=상품 " + i, StandardCharsets.UTF_8);
+            Thread.sleep(QUIET_PERIOD.toMillis() / 5);
+        }
+
+        //then 변경이 멈춘 뒤 한 번만 다시 읽는다.
+        assertThat(reloaded.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(QUIET_PERIOD.toMillis() * 3);
+        assertThat(reloads.get()).isEqualTo(1);
+        assertThat(messageSource.getMessage("label.item", null, Locale.KOREA)).isEqualTo("상품 5");
+    }
+
+    @Test
+    void ignoreNonBundleFile(@TempDir Path directory) throws Exception {
+        //given
+        Files.writeString(directory.resolve("watched.properties"), "label.item=상품", StandardCharsets.UTF_8);
+        start(directory);
+
+        //when
+        Files.writeString(directory.resolve("other.txt"), "x", StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("unwatched.properties"), "label.item=x", StandardCharsets.UTF_8);
+
+        //then
+        assertThat(reloaded.await(QUIET_PERIOD.toMillis() * 3, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(reloads.get()).isZero();
+    }
+
+    @Test
+    void overflowIsChange(@TempDir Path directory) throws Exception {
+        //given
+        start(directory);
+
+        //when, then 이벤트를 놓쳤으면(OVERFLOW) 어떤 파일인지 몰라도 다시 읽는다.
+        assertThat(watcher.isBundleChanged(List.of(event(StandardWatchEventKinds.OVERFLOW, null)))).isTrue();
+        assertThat(watcher.isBundleChanged(List.of(event(StandardWatchEventKinds.ENTRY_MODIFY, Path.of("other.txt"))))).isFalse();
+        assertThat(watcher.isBundleChanged(List.of(event(StandardWatchEventKinds.ENTRY_MODIFY, Path.of("watched_en.properties"))))).isTrue();
+    }
+
+    private void start(Path directory) throws IOException {
+        // 클래스패스에 없는 번들 이름이어야 @TempDir 만 감시한다.
+        messageSource = new CompiledMessageSource(List.of("watched"), StandardCharsets.UTF_8, true, false, false, directory);
+        // 읽어 둔 로케일만 다시 읽는다.
+        messageSource.getMessage("label.item", null, Locale.KOREA);
+        messageSource.addReloadListener(() -> {
+            reloads.incrementAndGet();
+            reloaded.countDown();
+        });
+        watcher = new MessageBundleWatcher(messageSource, QUIET_PERIOD);
+    }
+
+    private static <T> WatchEvent<T> event(WatchEvent.Kind<T> kind, T context) {
+        return new WatchEvent<>() {
+            @Override
+            public Kind<T> kind() {
+                return kind;
+            }
+
+            @Override
+            public int count() {
+                return 1;
+            }
+
+            @Override
+            public T context() {
+                return context;
+            }
+        };
+    }
+}
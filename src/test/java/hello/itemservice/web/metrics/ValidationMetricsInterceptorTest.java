@@ -0,0 +1,100 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.render.TemplateWarmup;
+import hello.itemservice.web.render.TemplateWarmupFilter;
+import hello.itemservice.web.validation.ValidationErrorLogger;
+import hello.itemservice.web.validation.ValidationItemControllerV1;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * @InitBinder 로 모은 binder 의 오류를 요청이 끝날 때 센다. (V1 은 컨트롤러에서 직접 센다)
+ */
+class ValidationMetricsInterceptorTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ValidationMetrics validationMetrics = new ValidationMetrics(registry);
+    ValidationMetricsInterceptor interceptor = new ValidationMetricsInterceptor(validationMetrics);
+    ItemRepository itemRepository = new ItemRepository();
+
+    MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new ValidationItemControllerV1(itemRepository, validationMetrics, new ValidationErrorLogger(10)))
+            .setControllerAdvice(interceptor)
+            .addInterceptors(interceptor)
+            .addFilters(new TemplateWarmupFilter(new TemplateWarmup(itemRepository, new ServerProperties(), 1)))
+            .build();
+
+    @Test
+    void recordBindingErrors() throws Exception {
+        //when 타입 오류는 컨트롤러를 호출하기 전에 binder 에 남는다.
+        mockMvc.perform(post("/validation/v1/items/add")
+                .param("itemName", "itemA")
+                .param("price", "abc")
+                .param("quantity", "10"));
+
+        //then
+        assertThat(count("item", "price", "typeMismatch")).isEqualTo(1);
+        assertThat(itemRepository.count()).isZero();
+    }
+
+    @Test
+    void recordV1Errors() throws Exception {
+        //when
+        mockMvc.perform(post("/validation/v1/items/add")
+                .param("itemName", "")
+                .param("price", "100")
+                .param("quantity", "10"));
+
+        //then
+        assertThat(count("item", "itemName", "required")).isEqualTo(1);
+        assertThat(count("item", "price", "range")).isEqualTo(1);
+        assertThat(count("item", "global", "totalPriceMin")).isEqualTo(1);
+        assertThat(registry.find(ValidationMetrics.ERRORS).tag("code", "typeMismatch").counter()).isNull();
+    }
+
+    @Test
+    void skipWarmupRequest() throws Exception {
+        //when TemplateWarmupFilter 가 워밍업 요청으로 확인한 요청
+        mockMvc.perform(post("/validation/v1/items/add")
+                .requestAttr(TemplateWarmup.WARMUP_ATTRIBUTE, Boolean.TRUE)
+                .param("itemName", "itemA")
+                .param("price", "abc")
+                .param("quantity", "10"));
+        mockMvc.perform(post("/validation/v1/items/add")
+                .requestAttr(TemplateWarmup.WARMUP_ATTRIBUTE, Boolean.TRUE)
+                .param("itemName", "")
+                .param("price", "100")
+                .param("quantity", "10"));
+
+        //then 바인딩 오류, V1 이 직접 센 오류 모두 세지 않는다.
+        assertThat(registry.find(ValidationMetrics.ERRORS).counters()).isEmpty();
+    }
+
+    @Test
+    void recordForgedWarmupHeader() throws Exception {
+        //when 토큰을 모르는 외부 요청이 워밍업 헤더만 붙인 경우
+        mockMvc.perform(post("/validation/v1/items/add")
+                .header(TemplateWarmup.WARMUP_HEADER, "true")
+                .param("itemName", "itemA")
+                .param("price", "abc")
+                .param("quantity", "10"));
+
+        //then
+        assertThat(count("item", "price", "typeMismatch")).isEqualTo(1);
+    }
+
+    private double count(String objectName, String field, String code) {
+        return registry.get(ValidationMetrics.ERRORS)
+                .tag("object", objectName)
+                .tag("field", field)
+                .tag("code", code)
+                .counter().count();
+    }
+}
@@ -0,0 +1,86 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.render.TemplateWarmup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ValidationMetricsTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ValidationMetrics validationMetrics = new ValidationMetrics(registry);
+
+    @Test
+    void recordBindingResult() {
+        //given
+        BindingResult bindingResult = new BeanPropertyBindingResult(new Item(), "item");
+        bindingResult.rejectValue("itemName", "required");
+        bindingResult.rejectValue("price", "range");
+        bindingResult.reject("totalPriceMin");
+
+        //when
+        validationMetrics.record(bindingResult);
+        validationMetrics.record(bindingResult);
+
+        //then
+        assertThat(count("item", "itemName", "required")).isEqualTo(2);
+        assertThat(count("item", "price", "range")).isEqualTo(2);
+        assertThat(count("item", "global", "totalPriceMin")).isEqualTo(2);
+    }
+
+    @Test
+    void recordFieldAndCode() {
+        //when
+        validationMetrics.record("item", "quantity", "max");
+        validationMetrics.record("item", null, "totalPriceMin");
+
+        //then
+        assertThat(count("item", "quantity", "max")).isEqualTo(1);
+        assertThat(count("item", "global", "totalPriceMin")).isEqualTo(1);
+    }
+
+    @Test
+    void noErrors() {
+        //when
+        validationMetrics.record(new BeanPropertyBindingResult(new Item(), "item"));
+
+        //then
+        assertThat(registry.find(ValidationMetrics.ERRORS).counters()).isEmpty();
+    }
+
+    @Test
+    void skipWarmupRequest() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(TemplateWarmup.WARMUP_ATTRIBUTE, Boolean.TRUE);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        BindingResult bindingResult = new BeanPropertyBindingResult(new Item(), "item");
+        bindingResult.rejectValue("itemName", "required");
+
+        //when
+        try {
+            validationMetrics.record(bindingResult);
+            validationMetrics.record("item", "price", "range");
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        //then
+        assertThat(registry.find(ValidationMetrics.ERRORS).counters()).isEmpty();
+    }
+
+    private double count(String objectName, String field, String code) {
+        return registry.get(ValidationMetrics.ERRORS)
+                .tag("object", objectName)
+                .tag("field", field)
+                .tag("code", code)
+                .counter().count();
+    }
+}
@@ -0,0 +1,151 @@
+package hello.itemservice.web.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.config.ReactiveApiConfig;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemStore;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import hello.itemservice.web.validation.ValidationErrorLogger;
+import hello.itemservice.web.validation.bulk.ItemBatchValidator;
+import hello.itemservice.web.validation.bulk.ItemBulkImporter;
+import hello.itemservice.web.validation.bulk.ItemStreamImporter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.scheduler.Schedulers;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Map;
+
+class ItemReactiveHandlerTest {
+
+    ItemRepository itemRepository = new ItemRepository(new MemoryItemStore(), false);
+    WebTestClient client = WebTestClient.bindToRouterFunction(new ReactiveApiConfig().itemReactiveRoutes(handler())).build();
+
+    @Test
+    void addItem() {
+        client.post().uri("/validation/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("itemName", "itemA", "price", 10000, "quantity", 10))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.version").isEqualTo(Item.INITIAL_VERSION);
+    }
+
+    @Test
+    void addItemValidationFailed() {
+        client.post().uri("/validation/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("itemName", "itemA", "price", 10, "quantity", 10))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].field").isEqualTo("price")
+                .jsonPath("$.errors[0].code").isEqualTo("Range")
+                .jsonPath("$.errors[0].rejectedValue").isEqualTo(10);
+    }
+
+    @Test
+    void addItemsTypeMismatch() {
+        client.post().uri("/validation/api/items/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10},"
+                        + "{\"itemName\":\"itemB\",\"price\":\"abc\",\"quantity\":10}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.saved").isEqualTo(1)
+                .jsonPath("$.failed").isEqualTo(1)
+                .jsonPath("$.failures[0].index").isEqualTo(1)
+                .jsonPath("$.failures[0].errors[0].field").isEqualTo("price")
+                .jsonPath("$.failures[0].errors[0].code").isEqualTo("typeMismatch");
+    }
+
+    @Test
+    void addItemsMalformed() {
+        client.post().uri("/validation/api/items/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"itemName\":")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void editItemVersionConflict() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 10));
+
+        //when, then
+        client.post().uri("/validation/api/items/{itemId}/edit", item.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("id", item.getId(), "itemName", "itemC", "price", 30000, "quantity", 10,
+                        "version", Item.INITIAL_VERSION))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.errors[0].code").isEqualTo("versionConflict");
+    }
+
+    @Test
+    void items() {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+
+        //when, then
+        client.get().uri("/validation/api/items?limit=1")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Item.class)
+                .hasSize(1);
+    }
+
+    @Test
+    void itemsLimitTypeMismatch() {
+        client.get().uri("/validation/api/items?limit=abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].field").isEqualTo("limit")
+                .jsonPath("$.errors[0].code").isEqualTo("typeMismatch")
+                .jsonPath("$.errors[0].rejectedValue").isEqualTo("abc");
+    }
+
+    @Test
+    void itemIdTypeMismatch() {
+        client.get().uri("/validation/api/items/abc")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].field").isEqualTo("itemId")
+                .jsonPath("$.errors[0].code").isEqualTo("typeMismatch");
+
+        client.post().uri("/validation/api/items/abc/edit")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("itemName", "itemA", "price", 10000, "quantity", 10))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].field").isEqualTo("itemId")
+                .jsonPath("$.errors[0].code").isEqualTo("typeMismatch");
+    }
+
+    private ItemReactiveHandler handler() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        ValidationMetrics validationMetrics = new ValidationMetrics(new SimpleMeterRegistry());
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        ItemBulkImporter itemBulkImporter = new ItemBulkImporter(itemRepository, validator, new ItemBatchValidator(1), validationMetrics);
+        return new ItemReactiveHandler(itemRepository, itemBulkImporter,
+                new ItemStreamImporter(itemRepository, itemBulkImporter, validationMetrics, new ObjectMapper()),
+                validator, messageSource, validationMetrics, new ValidationErrorLogger(10), Schedulers.immediate());
+    }
+}
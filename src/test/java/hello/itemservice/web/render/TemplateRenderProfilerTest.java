@@ -0,0 +1,43 @@
+package hello.itemservice.web.render;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TemplateRenderProfilerTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TemplateRenderProfiler profiler = new TemplateRenderProfiler(registry);
+
+    @Test
+    void recordTemplate() {
+        //when
+        profiler.recordTemplate("validation/v4/addForm", 2_000_000);
+        profiler.recordTemplate("validation/v4/addForm", 4_000_000);
+
+        //then
+        assertThat(registry.get(TemplateRenderProfiler.RENDER).tag("template", "validation/v4/addForm").timer().count())
+                .isEqualTo(2);
+        TemplateRenderProfiler.TemplateStats stats = profiler.report(10).getTemplates().get(0);
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getMeanMicros()).isEqualTo(3000);
+    }
+
+    @Test
+    void reportSlowestExpressionsFirst() {
+        //given
+        profiler.recordExpression("validation/v4/addForm", "${#fields.hasErrors('itemName')}", 1_000);
+        profiler.recordExpression("validation/v4/addForm", "${#fields.hasErrors('itemName')}", 1_000);
+        profiler.recordExpression("validation/v4/addForm", "*{price}", 5_000);
+        profiler.recordExpression("validation/v4/editForm", "*{price}", 500);
+
+        //when
+        TemplateRenderProfiler.Report report = profiler.report(2);
+
+        //then
+        assertThat(report.getExpressions()).extracting("expression")
+                .containsExactly("*{price}", "${#fields.hasErrors('itemName')}");
+        assertThat(report.getExpressions().get(1).getCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,40 @@
+package hello.itemservice.web.render;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.Ssl;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 워밍업 요청 주소는 서버의 context-path 와 SSL 설정을 따른다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "item.thymeleaf.warmup.enabled=true",
+        "item.thymeleaf.warmup.rounds=1",
+        "server.servlet.context-path=/shop"
+})
+class TemplateWarmupContextPathTest {
+
+    @Autowired
+    TemplateWarmup templateWarmup;
+
+    @Test
+    void warmupUnderContextPath() {
+        //then (context-path 를 빼먹으면 모두 404 로 실패한다)
+        assertThat(templateWarmup.sentRequests()).isPositive();
+        assertThat(templateWarmup.failedRequests()).isZero();
+    }
+
+    @Test
+    void baseUrl() {
+        //given
+        Ssl ssl = new Ssl();
+        ssl.setEnabled(true);
+
+        //when, then
+        assertThat(TemplateWarmup.baseUrl(null, 8080, "")).isEqualTo("http://localhost:8080");
+        assertThat(TemplateWarmup.baseUrl(ssl, 8443, "/shop")).isEqualTo("https://localhost:8443/shop");
+    }
+}
@@ -0,0 +1,42 @@
+package hello.itemservice.web.render;
+
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TemplateWarmupFilterTest {
+
+    TemplateWarmup templateWarmup = new TemplateWarmup(new ItemRepository(), new ServerProperties(), 1);
+    TemplateWarmupFilter filter = new TemplateWarmupFilter(templateWarmup);
+
+    @Test
+    void markWarmupRequest() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/validation/v1/items");
+        request.addHeader(TemplateWarmup.WARMUP_HEADER, templateWarmup.token());
+
+        //when
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        //then
+        assertThat(request.getAttribute(TemplateWarmup.WARMUP_ATTRIBUTE)).isEqualTo(Boolean.TRUE);
+    }
+
+    @Test
+    void ignoreForgedHeader() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/validation/v1/items");
+        request.addHeader(TemplateWarmup.WARMUP_HEADER, "true");
+
+        //when
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        //then
+        assertThat(request.getAttribute(TemplateWarmup.WARMUP_ATTRIBUTE)).isNull();
+    }
+}
@@ -0,0 +1,51 @@
+package hello.itemservice.web.render;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 워밍업은 검증 오류 화면까지 렌더링하지만 상품을 저장하거나 수정하면 안 되고, 검증 오류 지표에도 남으면 안 된다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "item.thymeleaf.warmup.enabled=true",
+        "item.thymeleaf.warmup.rounds=2"
+})
+class TemplateWarmupTest {
+
+    @Autowired
+    TemplateWarmup templateWarmup;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void warmupDoesNotWrite() {
+        //then (워밍업은 ApplicationReadyEvent 에서 이미 끝났다)
+        assertThat(templateWarmup.sentRequests()).isPositive();
+        assertThat(templateWarmup.failedRequests()).isZero();
+
+        // TestDataInit 이 넣은 상품 2개 그대로
+        assertThat(itemRepository.count()).isEqualTo(2);
+        Item item = itemRepository.findById(1L);
+        assertThat(item.getItemName()).isEqualTo("itemA");
+        assertThat(item.getPrice()).isEqualTo(10000);
+        assertThat(item.getQuantity()).isEqualTo(10);
+        assertThat(item.getVersion()).isEqualTo(Item.INITIAL_VERSION);
+
+        // 워밍업이 보낸 검증 실패 요청은 세지 않는다.
+        double validationErrors = meterRegistry.find("validation.errors").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+        assertThat(validationErrors).isZero();
+    }
+}
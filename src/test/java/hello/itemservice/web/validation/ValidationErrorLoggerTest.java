@@ -0,0 +1,144 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.render.TemplateWarmup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ValidationErrorLoggerTest {
+
+    AtomicLong now = new AtomicLong(1_000_000);
+    ValidationErrorLogger logger = new ValidationErrorLogger(2, now::get);
+
+    @Test
+    void line() {
+        //given
+        BindingResult errors = errors(fieldError("itemName", "NotBlank", " "), fieldError("price", "Range", 10));
+        errors.addError(new ObjectError("item", new String[]{"totalPriceMin"}, null, null));
+
+        //when
+        String line = logger.line(errors);
+
+        //then
+        assertThat(line).isEqualTo("object=item errors=itemName:NotBlank[ ] price:Range[10] global:totalPriceMin");
+    }
+
+    @Test
+    void truncateAndEscapeValue() {
+        //given
+        String longValue = "a\r\nb" + "x".repeat(40);
+
+        //when
+        String line = logger.line(errors(fieldError("itemName", "Size", longValue)));
+
+        //then
+        assertThat(line).isEqualTo("object=item errors=itemName:Size[a??b" + "x".repeat(28) + "...]");
+    }
+
+    @Test
+    void rateLimitPerCode() {
+        //when 초당 2건까지
+        String first = logger.line(errors(fieldError("price", "Range", 10)));
+        String second = logger.line(errors(fieldError("price", "Range", 10)));
+        String third = logger.line(errors(fieldError("price", "Range", 10)));
+        String otherCode = logger.line(errors(fieldError("itemName", "NotBlank", "")));
+
+        //then
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(third).isNull();
+        assertThat(otherCode).isNotNull();
+    }
+
+    @Test
+    void reportSuppressedWithNextLineOfSameCode() {
+        //given 한도를 넘은 Range 3건
+        for (int i = 0; i < 5; i++) {
+            logger.line(errors(fieldError("price", "Range", 10)));
+        }
+        // 다른 오류 코드의 줄에는 Range 건수를 붙이지 않는다.
+        String otherCode = logger.line(errors(fieldError("itemName", "NotBlank", "")));
+
+        //when 다음 1초
+        now.addAndGet(1000);
+        String next = logger.line(errors(fieldError("price", "Range", 10)));
+        String afterReport = logger.line(errors(fieldError("price", "Range", 10)));
+
+        //then
+        assertThat(otherCode).doesNotContain("suppressed");
+        assertThat(next).isEqualTo("object=item errors=price:Range[10] suppressed=Range:3");
+        assertThat(afterReport).doesNotContain("suppressed");
+    }
+
+    @Test
+    void lineWithoutBindingResult() {
+        //when V1 처럼 오류를 하나씩 남기는 경우
+        String fieldLine = logger.line("item", "price", "range", 100);
+        String globalLine = logger.line("item", null, "totalPriceMin", null);
+
+        //then
+        assertThat(fieldLine).isEqualTo("object=item errors=price:range[100]");
+        assertThat(globalLine).isEqualTo("object=item errors=global:totalPriceMin");
+    }
+
+    @Test
+    void rateLimitWithoutBindingResult() {
+        //given 같은 오류 코드는 BindingResult 로 남긴 것과 한도를 함께 쓴다.
+        logger.line(errors(fieldError("price", "range", 10)));
+        logger.line("item", "price", "range", 10);
+
+        //when
+        String third = logger.line("item", "price", "range", 10);
+        now.addAndGet(1000);
+        String next = logger.line("item", "price", "range", 10);
+
+        //then
+        assertThat(third).isNull();
+        assertThat(next).isEqualTo("object=item errors=price:range[10] suppressed=range:1");
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void skipWarmupRequest(CapturedOutput output) {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(TemplateWarmup.WARMUP_ATTRIBUTE, Boolean.TRUE);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        //when
+        try {
+            logger.log(errors(fieldError("price", "Range", 10)));
+            logger.log("item", "price", "range", 10);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        //then
+        assertThat(output.getOut()).doesNotContain("검증 실패");
+    }
+
+    private static BindingResult errors(FieldError... fieldErrors) {
+        BindingResult errors = new BeanPropertyBindingResult(new Item(), "item");
+        for (FieldError fieldError : fieldErrors) {
+            errors.addError(fieldError);
+        }
+        return errors;
+    }
+
+    private static FieldError fieldError(String field, String code, Object rejectedValue) {
+        return new FieldError("item", field, rejectedValue, false, new String[]{code}, null, null);
+    }
+}
@@ -0,0 +1,61 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemStore;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import hello.itemservice.web.validation.bulk.ItemBatchValidator;
+import hello.itemservice.web.validation.bulk.ItemBulkImporter;
+import hello.itemservice.web.validation.bulk.ItemExporter;
+import hello.itemservice.web.validation.bulk.ItemStreamImporter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.validation.Validation;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ValidationItemApiControllerTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    ItemRepository itemRepository = new ItemRepository(new MemoryItemStore(), false);
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller()).build();
+
+    @Test
+    void addItemsTypeMismatch() throws Exception {
+        //given 두 번째 상품의 가격이 숫자가 아니다.
+        String body = "[{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10},"
+                + "{\"itemName\":\"itemB\",\"price\":\"abc\",\"quantity\":10}]";
+
+        //when, then 배치 전체가 아니라 그 상품만 typeMismatch 로 실패한다.
+        mockMvc.perform(post("/validation/api/items/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saved").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.failures[0].index").value(1))
+                .andExpect(jsonPath("$.failures[0].errors[0].field").value("price"))
+                .andExpect(jsonPath("$.failures[0].errors[0].code").value("typeMismatch"));
+        assertThat(itemRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void addItemsMalformed() throws Exception {
+        mockMvc.perform(post("/validation/api/items/bulk").contentType(MediaType.APPLICATION_JSON).content("[{\"itemName\":"))
+                .andExpect(status().isBadRequest());
+        assertThat(itemRepository.count()).isZero();
+    }
+
+    private ValidationItemApiController controller() {
+        ValidationMetrics validationMetrics = new ValidationMetrics(new SimpleMeterRegistry());
+        ItemBulkImporter itemBulkImporter = new ItemBulkImporter(itemRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ItemBatchValidator(1), validationMetrics);
+        return new ValidationItemApiController(itemRepository, new ValidationErrorLogger(10),
+                new ItemStreamImporter(itemRepository, itemBulkImporter, validationMetrics, objectMapper),
+                new ItemExporter(itemRepository, objectMapper));
+    }
+}
@@ -0,0 +1,84 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.BindingResult;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+class ValidationItemControllerV3Test {
+
+    ItemRepository itemRepository = new ItemRepository();
+    MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new ValidationItemControllerV3(itemRepository, new ValidationErrorLogger(10)))
+            .build();
+
+    @Test
+    void editVersionConflictShowsCurrentItem() throws Exception {
+        //given 수정 폼을 연 뒤 다른 사용자가 먼저 수정했다.
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+
+        //when
+        MvcResult result = edit(item.getId(), "itemC", Item.INITIAL_VERSION);
+
+        //then 현재 값과 version 으로 폼을 다시 보여준다.
+        assertThat(result.getModelAndView().getViewName()).isEqualTo("validation/v3/editForm");
+        assertThat(bindingResult(result).getGlobalError().getCode()).isEqualTo("versionConflict");
+        Item form = (Item) result.getModelAndView().getModel().get("item");
+        assertThat(form.getItemName()).isEqualTo("itemB");
+        assertThat(form.getVersion()).isEqualTo(Item.INITIAL_VERSION + 1);
+    }
+
+    @Test
+    void resubmitAfterConflictIsSaved() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+        MvcResult conflict = edit(item.getId(), "itemC", Item.INITIAL_VERSION);
+        Integer reloadedVersion = ((Item) conflict.getModelAndView().getModel().get("item")).getVersion();
+
+        //when 다시 보여준 폼의 version 으로 보낸다.
+        MvcResult result = edit(item.getId(), "itemC", reloadedVersion);
+
+        //then
+        assertThat(result.getResponse().getRedirectedUrl()).isEqualTo("/validation/v3/items/" + item.getId());
+        assertThat(itemRepository.findById(item.getId()).getItemName()).isEqualTo("itemC");
+    }
+
+    @Test
+    void editWithoutVersionIsConflict() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        MvcResult result = edit(item.getId(), "itemC", null);
+
+        //then 비교 없이 덮어쓰지 않는다.
+        assertThat(bindingResult(result).getGlobalError().getCode()).isEqualTo("versionConflict");
+        assertThat(itemRepository.findById(item.getId()).getItemName()).isEqualTo("itemA");
+        assertThat(itemRepository.findById(item.getId()).getVersion()).isEqualTo(Item.INITIAL_VERSION);
+    }
+
+    private MvcResult edit(Long itemId, String itemName, Integer version) throws Exception {
+        MockHttpServletRequestBuilder request = post("/validation/v3/items/{itemId}/edit", itemId)
+                .param("id", String.valueOf(itemId))
+                .param("itemName", itemName)
+                .param("price", "30000")
+                .param("quantity", "10");
+        if (version != null) {
+            request.param("version", String.valueOf(version));
+        }
+        return mockMvc.perform(request).andReturn();
+    }
+
+    private static BindingResult bindingResult(MvcResult result) {
+        return (BindingResult) result.getModelAndView().getModel().get(BindingResult.MODEL_KEY_PREFIX + "item");
+    }
+}
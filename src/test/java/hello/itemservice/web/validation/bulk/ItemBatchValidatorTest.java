@@ -0,0 +1,42 @@
+package hello.itemservice.web.validation.bulk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.ObjectError;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemBatchValidatorTest {
+
+    ItemBatchValidator batchValidator = new ItemBatchValidator(4);
+
+    @AfterEach
+    void afterEach() {
+        batchValidator.destroy();
+    }
+
+    @Test
+    void validateAll() {
+        //given
+        List<Integer> targets = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+
+        //when 짝수만 실패
+        List<List<ObjectError>> results = batchValidator.validateAll(targets, target -> target % 2 == 0
+                ? List.of(new ObjectError("item", "even" + target))
+                : List.of());
+
+        //then 결과가 입력 순서와 같은 위치에 담긴다.
+        assertThat(results).hasSize(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            if (i % 2 == 0) {
+                assertThat(results.get(i).get(0).getDefaultMessage()).isEqualTo("even" + i);
+            } else {
+                assertThat(results.get(i)).isEmpty();
+            }
+        }
+    }
+}
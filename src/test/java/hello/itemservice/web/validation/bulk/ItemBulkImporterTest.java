@@ -0,0 +1,53 @@
+package hello.itemservice.web.validation.bulk;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemStore;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemBulkImporterTest {
+
+    ItemRepository itemRepository = new ItemRepository(new MemoryItemStore(), false);
+    ItemBulkImporter importer = new ItemBulkImporter(itemRepository,
+            Validation.buildDefaultValidatorFactory().getValidator(), new ItemBatchValidator(4),
+            new ValidationMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void importAll() {
+        //given
+        List<ItemSaveForm> forms = new ArrayList<>();
+        for (int i = 0; i < ItemBulkImporter.BATCH_SIZE + 10; i++) {
+            forms.add(form("item" + i, 10000, 10));
+        }
+        forms.set(3, form(" ", 10000, 10));
+        forms.set(7, form("item7", 1000, 1));
+
+        //when
+        ItemImportResult result = importer.importAll(forms);
+
+        //then
+        assertThat(result.getTotal()).isEqualTo(forms.size());
+        assertThat(result.getSaved()).isEqualTo(forms.size() - 2);
+        assertThat(itemRepository.count()).isEqualTo(forms.size() - 2);
+
+        assertThat(result.getFailures()).extracting("index").containsExactly(3L, 7L);
+        assertThat(result.getFailures().get(0).getErrors().get(0).getCode()).isEqualTo("NotBlank");
+        assertThat(result.getFailures().get(1).getErrors().get(0).getCode()).isEqualTo("totalPriceMin");
+    }
+
+    private static ItemSaveForm form(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
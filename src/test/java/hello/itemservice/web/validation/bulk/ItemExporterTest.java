@@ -0,0 +1,167 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemExporterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    MemoryItemStore store = new MemoryItemStore();
+    ItemRepository itemRepository = new ItemRepository(store, false);
+    ItemExporter exporter = new ItemExporter(itemRepository, objectMapper);
+
+    @Test
+    void exportJson() throws IOException {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = exporter.export(ItemExporter.Format.JSON, ItemExporter.Compression.NONE, out);
+
+        //then
+        JsonNode items = objectMapper.readTree(out.toByteArray());
+        assertThat(count).isEqualTo(2);
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0).get("itemName").asText()).isEqualTo("itemA");
+        assertThat(items.get(1).get("price").asInt()).isEqualTo(20000);
+        assertThat(items.get(1).get("version").asInt()).isEqualTo(Item.INITIAL_VERSION);
+    }
+
+    @Test
+    void exportCsv() throws IOException {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("item, \"B\"", 20000, 20));
+        itemRepository.save(new Item("=SUM(A1)", 30000, 30));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        exporter.export(ItemExporter.Format.CSV, ItemExporter.Compression.NONE, out);
+
+        //then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(ItemExporter.CSV_HEADER + "\r\n"
+                + "1,itemA,10000,10,1\r\n"
+                + "2,\"item, \"\"B\"\"\",20000,20,1\r\n"
+                + "3,'=SUM(A1),30000,30,1\r\n");
+    }
+
+    @Test
+    void exportCsvMultiByte() throws IOException {
+        //given
+        itemRepository.save(new Item("상품A \uD83D\uDE00", 10000, 10));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        exporter.export(ItemExporter.Format.CSV, ItemExporter.Compression.NONE, out);
+
+        //then
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("1,상품A \uD83D\uDE00,10000,10,1\r\n");
+    }
+
+    @Test
+    void exportBinaryGzip() throws IOException {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item(null, null, 20));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = exporter.export(ItemExporter.Format.BINARY, ItemExporter.Compression.GZIP, out);
+
+        //then
+        DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())));
+        assertThat(count).isEqualTo(2);
+        assertThat(in.readInt()).isEqualTo(ItemExporter.BINARY_MAGIC);
+        assertThat(in.readInt()).isEqualTo(ItemExporter.BINARY_VERSION);
+
+        assertThat(in.readByte()).isEqualTo((byte) 1);
+        assertThat(in.readLong()).isEqualTo(1L);
+        assertThat(in.readByte()).isZero();
+        assertThat(in.readInt()).isEqualTo(10000);
+        assertThat(in.readInt()).isEqualTo(10);
+        assertThat(in.readInt()).isEqualTo(Item.INITIAL_VERSION);
+        byte[] name = new byte[in.readInt()];
+        in.readFully(name);
+        assertThat(new String(name, StandardCharsets.UTF_8)).isEqualTo("itemA");
+
+        assertThat(in.readByte()).isEqualTo((byte) 1);
+        assertThat(in.readLong()).isEqualTo(2L);
+        assertThat(in.readByte()).isEqualTo((byte) (ItemExporter.NULL_NAME | ItemExporter.NULL_PRICE));
+        assertThat(in.readInt()).isZero();
+        assertThat(in.readInt()).isEqualTo(20);
+        assertThat(in.readInt()).isEqualTo(Item.INITIAL_VERSION);
+        assertThat(in.readInt()).isZero();
+
+        assertThat(in.readByte()).isZero();
+        assertThat(in.readLong()).isEqualTo(2L);
+        assertThat(in.read()).isEqualTo(-1);
+    }
+
+    @Test
+    void exportNullVersion() throws IOException {
+        //given 저장소를 거치지 않고 넣은 version 없는 상품
+        Item item = new Item("itemA", 10000, 10);
+        item.setId(1L);
+        store.put(item);
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+
+        //when
+        exporter.export(ItemExporter.Format.JSON, ItemExporter.Compression.NONE, json);
+        exporter.export(ItemExporter.Format.CSV, ItemExporter.Compression.NONE, csv);
+        exporter.export(ItemExporter.Format.BINARY, ItemExporter.Compression.NONE, binary);
+
+        //then 세 형식 모두 없는 값으로 내보낸다.
+        assertThat(objectMapper.readTree(json.toByteArray()).get(0).get("version").isNull()).isTrue();
+        assertThat(csv.toString(StandardCharsets.UTF_8)).endsWith("1,itemA,10000,10,\r\n");
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(binary.toByteArray()));
+        in.readInt();
+        in.readInt();
+        assertThat(in.readByte()).isEqualTo((byte) 1);
+        assertThat(in.readLong()).isEqualTo(1L);
+        assertThat(in.readByte()).isEqualTo(ItemExporter.NULL_VERSION);
+        assertThat(in.readInt()).isEqualTo(10000);
+        assertThat(in.readInt()).isEqualTo(10);
+        assertThat(in.readInt()).isZero();
+    }
+
+    @Test
+    void exportEmpty() throws IOException {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = exporter.export(ItemExporter.Format.JSON, ItemExporter.Compression.NONE, out);
+
+        //then
+        assertThat(count).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+
+    @Test
+    void format() {
+        assertThat(ItemExporter.Format.of("csv")).isEqualTo(ItemExporter.Format.CSV);
+        assertThat(ItemExporter.Format.of("JSON")).isEqualTo(ItemExporter.Format.JSON);
+        assertThat(ItemExporter.Format.of("binary")).isEqualTo(ItemExporter.Format.BINARY);
+        assertThat(ItemExporter.Format.of("xml")).isNull();
+        assertThat(ItemExporter.Compression.of("gzip")).isEqualTo(ItemExporter.Compression.GZIP);
+        assertThat(ItemExporter.Compression.of("zstd")).isNull();
+    }
+}
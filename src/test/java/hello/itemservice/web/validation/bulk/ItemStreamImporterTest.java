@@ -0,0 +1,105 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemStore;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemStreamImporterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    ItemRepository itemRepository = new ItemRepository(new MemoryItemStore(), false);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ValidationMetrics validationMetrics = new ValidationMetrics(meterRegistry);
+    ItemStreamImporter importer = new ItemStreamImporter(itemRepository,
+            new ItemBulkImporter(itemRepository, Validation.buildDefaultValidatorFactory().getValidator(), new ItemBatchValidator(1), validationMetrics),
+            validationMetrics, objectMapper);
+
+    @Test
+    void importAll() throws IOException {
+        //given
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n"
+                + "{\"itemName\":\"itemB\",\"price\":\"abc\",\"quantity\":10}\n"
+                + "{\"itemName\":\"itemC\",\"price\":\"20000\",\"quantity\":20,\"unknown\":[1,2]}\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        ItemImportResult result = importer.importAll(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        //then
+        assertThat(result.getSaved()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(itemRepository.count()).isEqualTo(2);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(4);
+        JsonNode failure = objectMapper.readTree(lines[0]);
+        assertThat(failure.get("index").asLong()).isEqualTo(1);
+        // 타입 오류가 난 필드에는 Bean Validation 오류(NotNull)가 더해지지 않는다.
+        assertThat(failure.get("errors")).hasSize(1);
+        assertThat(failure.get("errors").get(0).get("code").asText()).isEqualTo("typeMismatch");
+        assertThat(objectMapper.readTree(lines[3]).get("total").asLong()).isEqualTo(3);
+        assertThat(meterRegistry.get("validation.errors").tag("field", "price").tag("code", "typeMismatch")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void stopOnMalformedInput() throws IOException {
+        //given
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n{\"itemName\":";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        ItemImportResult result = importer.importAll(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        //then
+        assertThat(result.getSaved()).isEqualTo(1);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(objectMapper.readTree(lines[lines.length - 1]).has("error")).isTrue();
+    }
+
+    @Test
+    void importArray() throws IOException {
+        //given NDJSON 과 같은 상품을 JSON 배열로 보낸다.
+        String body = "[{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10},"
+                + "{\"itemName\":\"itemB\",\"price\":\"abc\",\"quantity\":10},"
+                + "{\"itemName\":\"itemC\",\"price\":\"20000\",\"quantity\":20}]";
+
+        //when
+        ItemImportResult result = importer.importAll(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        //then 타입이 틀린 상품만 typeMismatch 로 실패하고 나머지는 저장된다.
+        assertThat(result.getSaved()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(itemRepository.count()).isEqualTo(2);
+        assertThat(result.getFailures()).hasSize(1);
+        assertThat(result.getFailures().get(0).getIndex()).isEqualTo(1);
+        assertThat(result.getFailures().get(0).getErrors()).hasSize(1);
+        assertThat(result.getFailures().get(0).getErrors().get(0).getCode()).isEqualTo("typeMismatch");
+        assertThat(meterRegistry.get("validation.errors").tag("field", "price").tag("code", "typeMismatch")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void importArrayMalformed() {
+        //given
+        String body = "[{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10},{\"itemName\":";
+
+        //when, then 형식이 깨지면 아무것도 저장하지 않는다.
+        assertThatThrownBy(() -> importer.importAll(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(JsonProcessingException.class);
+        assertThat(itemRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,94 @@
+package hello.itemservice.web.validation.compiled;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validation;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CompiledValidatorTest {
+
+    SpringValidatorAdapter beanValidator = new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator());
+    CountingValidator delegate = new CountingValidator(beanValidator);
+    CompiledValidator validator = new CompiledValidator(delegate);
+
+    @Test
+    void validFormSkipsBeanValidation() {
+        //given
+        ItemSaveForm form = form("itemA", 10000, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        //when
+        validator.validate(form, bindingResult);
+
+        //then
+        assertThat(bindingResult.hasErrors()).isFalse();
+        assertThat(delegate.calls).isZero();
+    }
+
+    @Test
+    void invalidFormFallsBackToBeanValidation() {
+        //given
+        ItemSaveForm form = form(" ", 100, 10000);
+        BindingResult expected = new BeanPropertyBindingResult(form, "item");
+        beanValidator.validate(form, expected);
+
+        //when
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        validator.validate(form, bindingResult);
+
+        //then
+        assertThat(delegate.calls).isEqualTo(1);
+        assertThat(codes(bindingResult)).isEqualTo(codes(expected)).contains("NotBlank", "Range", "Max");
+    }
+
+    private static String codes(BindingResult bindingResult) {
+        return bindingResult.getAllErrors().stream()
+                .map(ObjectError::getCode)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private static ItemSaveForm form(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    static class CountingValidator implements SmartValidator {
+
+        private final SmartValidator target;
+        int calls;
+
+        CountingValidator(SmartValidator target) {
+            this.target = target;
+        }
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return target.supports(clazz);
+        }
+
+        @Override
+        public void validate(Object object, Errors errors) {
+            calls++;
+            target.validate(object, errors);
+        }
+
+        @Override
+        public void validate(Object object, Errors errors, Object... validationHints) {
+            calls++;
+            target.validate(object, errors, validationHints);
+        }
+    }
+}